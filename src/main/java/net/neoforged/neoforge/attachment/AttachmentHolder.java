@@ -6,16 +6,17 @@
 package net.neoforged.neoforge.attachment;
 
 import com.mojang.logging.LogUtils;
-import java.util.IdentityHashMap;
-import java.util.Map;
+import java.util.Arrays;
 import java.util.Objects;
 import java.util.Optional;
 import net.minecraft.core.HolderLookup;
 import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.EndTag;
 import net.minecraft.nbt.Tag;
 import net.minecraft.resources.ResourceLocation;
 import net.neoforged.fml.loading.FMLLoader;
 import net.neoforged.neoforge.registries.NeoForgeRegistries;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.MustBeInvokedByOverriders;
 import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
@@ -38,17 +39,70 @@ public abstract class AttachmentHolder implements IAttachmentHolder {
         }
     }
 
+    /**
+     * Attachments indexed by {@linkplain AttachmentType#index attachment type index}, or {@code null} if there are none yet.
+     * The array is only grown as much as needed to hold the attachment with the highest index.
+     */
+    @Nullable
+    Object[] attachments = null;
+    /**
+     * Number of non-null entries in {@link #attachments}.
+     */
+    private int attachmentCount = 0;
+    /**
+     * Last serialized form of the attachments whose type {@linkplain AttachmentType#tracksChanges tracks changes},
+     * indexed like {@link #attachments}. A {@code null} entry means that the attachment needs to be serialized again,
+     * and {@link EndTag#INSTANCE} means that the serializer did not produce any tag.
+     */
     @Nullable
-    Map<AttachmentType<?>, Object> attachments = null;
+    private Tag[] serializedCache = null;
+    /**
+     * {@code true} if {@link #serializedCache} is known to hold the serialized form of all the serializable attachments.
+     * This is only possible if all the serializable attachments track their changes.
+     */
+    private boolean serializedUpToDate = false;
+    /**
+     * {@code true} if the last call to {@link #serializeAttachments(HolderLookup.Provider)} did not produce any tag.
+     * Only valid if {@link #serializedUpToDate} is {@code true}.
+     */
+    private boolean serializedEmpty = false;
 
     /**
-     * Create the attachment map if it does not yet exist, or return the current map.
+     * Stores an attachment at the given index, growing the array if needed.
+     * Returns the previous attachment at that index, if any.
      */
-    final Map<AttachmentType<?>, Object> getAttachmentMap() {
-        if (attachments == null) {
-            attachments = new IdentityHashMap<>(4);
+    @Nullable
+    final Object putAttachment(int index, @Nullable Object value) {
+        var array = attachments;
+        if (array == null || index >= array.length) {
+            // Round up to a multiple of 4 to avoid growing the array for every new attachment
+            int newLength = (index + 4) & ~3;
+            array = attachments = array == null ? new Object[newLength] : Arrays.copyOf(array, newLength);
         }
-        return attachments;
+        Object previous = array[index];
+        array[index] = value;
+        if (previous == null && value != null)
+            attachmentCount++;
+        else if (previous != null && value == null)
+            attachmentCount--;
+        markChanged(index);
+        return previous;
+    }
+
+    /**
+     * Discards the serialized form of the attachment at the given index.
+     */
+    private void markChanged(int index) {
+        serializedUpToDate = false;
+        var cache = serializedCache;
+        if (cache != null && index < cache.length)
+            cache[index] = null;
+    }
+
+    @Nullable
+    private Object getAttachment(int index) {
+        var array = attachments;
+        return array != null && index < array.length ? array[index] : null;
     }
 
     /**
@@ -62,22 +116,23 @@ public abstract class AttachmentHolder implements IAttachmentHolder {
 
     @Override
     public final boolean hasAttachments() {
-        return attachments != null && !attachments.isEmpty();
+        return attachmentCount > 0;
     }
 
     @Override
     public final boolean hasData(AttachmentType<?> type) {
         validateAttachmentType(type);
-        return attachments != null && attachments.containsKey(type);
+        return getAttachment(AttachmentInternals.getIndex(type)) != null;
     }
 
     @Override
     public final <T> T getData(AttachmentType<T> type) {
         validateAttachmentType(type);
-        T ret = (T) getAttachmentMap().get(type);
+        int index = AttachmentInternals.getIndex(type);
+        T ret = (T) getAttachment(index);
         if (ret == null) {
             ret = type.defaultValueSupplier.apply(getExposedHolder());
-            attachments.put(type, ret);
+            putAttachment(index, ret);
         }
         return ret;
     }
@@ -85,10 +140,7 @@ public abstract class AttachmentHolder implements IAttachmentHolder {
     @Override
     public <T> Optional<T> getExistingData(AttachmentType<T> type) {
         validateAttachmentType(type);
-        if (attachments == null) {
-            return Optional.empty();
-        }
-        return Optional.ofNullable((T) this.attachments.get(type));
+        return Optional.ofNullable((T) getAttachment(AttachmentInternals.getIndex(type)));
     }
 
     @Override
@@ -96,33 +148,75 @@ public abstract class AttachmentHolder implements IAttachmentHolder {
     public <T> @Nullable T setData(AttachmentType<T> type, T data) {
         validateAttachmentType(type);
         Objects.requireNonNull(data);
-        return (T) getAttachmentMap().put(type, data);
+        return (T) putAttachment(AttachmentInternals.getIndex(type), data);
     }
 
     @Override
     @MustBeInvokedByOverriders
     public <T> @Nullable T removeData(AttachmentType<T> type) {
         validateAttachmentType(type);
-        if (attachments == null) {
+        int index = AttachmentInternals.getIndex(type);
+        if (getAttachment(index) == null) {
             return null;
         }
-        return (T) attachments.remove(type);
+        return (T) putAttachment(index, null);
+    }
+
+    @Override
+    @MustBeInvokedByOverriders
+    public void markDataChanged(AttachmentType<?> type) {
+        validateAttachmentType(type);
+        markChanged(AttachmentInternals.getIndex(type));
+    }
+
+    /**
+     * {@return {@code true} if the attachments might have changed since they were last serialized}
+     */
+    @ApiStatus.Internal
+    public final boolean hasAttachmentChanges() {
+        return !serializedUpToDate;
     }
 
     /**
      * Writes the serializable attachments to a tag.
      * Returns {@code null} if there are no serializable attachments.
+     * <p>
+     * The returned tag is always a new tag, and holds copies of the cached tags of unchanged attachments, such that callers may freely modify it.
      */
     @Nullable
     public final CompoundTag serializeAttachments(HolderLookup.Provider provider) {
-        if (attachments == null) {
+        if (serializedUpToDate && serializedEmpty) {
+            return null;
+        }
+        var array = attachments;
+        if (array == null || attachmentCount == 0) {
+            serializedUpToDate = true;
+            serializedEmpty = true;
             return null;
         }
         CompoundTag tag = null;
-        for (var entry : attachments.entrySet()) {
-            var type = entry.getKey();
+        boolean allTracked = true;
+        // Serializable attachment types are assigned the lowest indices
+        int end = Math.min(array.length, AttachmentInternals.getSerializableBound());
+        for (int i = 0; i < end; ++i) {
+            Object attachment = array[i];
+            if (attachment == null)
+                continue;
+            var type = AttachmentInternals.getType(i);
             if (type.serializer != null) {
-                Tag serialized = ((IAttachmentSerializer<?, Object>) type.serializer).write(entry.getValue(), provider);
+                Tag serialized;
+                if (type.tracksChanges) {
+                    serialized = getCachedSerialized(i);
+                    if (serialized == null) {
+                        serialized = ((IAttachmentSerializer<?, Object>) type.serializer).write(attachment, provider);
+                        serializedCache[i] = serialized == null ? EndTag.INSTANCE : serialized;
+                    }
+                    // Only hand out copies of the cached tag, such that callers can't modify it
+                    serialized = serialized == EndTag.INSTANCE || serialized == null ? null : serialized.copy();
+                } else {
+                    serialized = ((IAttachmentSerializer<?, Object>) type.serializer).write(attachment, provider);
+                    allTracked = false;
+                }
                 if (serialized != null) {
                     if (tag == null)
                         tag = new CompoundTag();
@@ -130,9 +224,24 @@ public abstract class AttachmentHolder implements IAttachmentHolder {
                 }
             }
         }
+        serializedUpToDate = allTracked;
+        serializedEmpty = tag == null;
         return tag;
     }
 
+    /**
+     * Returns the cached serialized form of the attachment at the given index,
+     * growing the cache to hold that index if needed.
+     */
+    @Nullable
+    private Tag getCachedSerialized(int index) {
+        var cache = serializedCache;
+        if (cache == null || index >= cache.length) {
+            serializedCache = cache = cache == null ? new Tag[attachments.length] : Arrays.copyOf(cache, attachments.length);
+        }
+        return cache[index];
+    }
+
     /**
      * Reads serializable attachments from a tag previously created via {@link #serializeAttachments(HolderLookup.Provider)}.
      */
@@ -152,7 +261,7 @@ public abstract class AttachmentHolder implements IAttachmentHolder {
             }
 
             try {
-                getAttachmentMap().put(type, ((IAttachmentSerializer<Tag, ?>) type.serializer).read(getExposedHolder(), tag.get(key), provider));
+                putAttachment(AttachmentInternals.getIndex(type), ((IAttachmentSerializer<Tag, ?>) type.serializer).read(getExposedHolder(), tag.get(key), provider));
             } catch (Exception exception) {
                 LOGGER.error("Failed to deserialize data attachment {}. Skipping.", key, exception);
             }
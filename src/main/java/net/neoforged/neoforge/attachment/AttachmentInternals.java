@@ -5,8 +5,10 @@
 
 package net.neoforged.neoforge.attachment;
 
+import java.util.Arrays;
 import java.util.function.Predicate;
 import net.minecraft.core.HolderLookup;
+import net.minecraft.core.Registry;
 import net.minecraft.world.entity.Entity;
 import net.neoforged.bus.api.SubscribeEvent;
 import net.neoforged.fml.common.EventBusSubscriber;
@@ -19,24 +21,84 @@ import org.jetbrains.annotations.ApiStatus;
 @ApiStatus.Internal
 @EventBusSubscriber(modid = NeoForgeVersion.MOD_ID)
 public final class AttachmentInternals {
+    /**
+     * Attachment types by {@linkplain AttachmentType#index index}. Replaced by a larger copy when new indices are assigned.
+     */
+    private static volatile AttachmentType<?>[] typesByIndex = new AttachmentType<?>[0];
+    /**
+     * All serializable attachment types have an index lower than this bound.
+     */
+    private static volatile int serializableBound = 0;
+
+    /**
+     * Assigns indices to all the registered attachment types, serializable types first.
+     * This keeps the serializable attachments at the start of the attachment arrays.
+     */
+    public static synchronized void assignIndices(Registry<AttachmentType<?>> registry) {
+        for (var type : registry) {
+            if (type.serializer != null)
+                assignIndex(type);
+        }
+        for (var type : registry) {
+            assignIndex(type);
+        }
+    }
+
+    /**
+     * Returns the index of the attachment type, assigning one if needed.
+     * This only needs to assign indices to types that were not registered properly.
+     */
+    static int getIndex(AttachmentType<?> type) {
+        int index = type.index;
+        return index >= 0 ? index : assignIndex(type);
+    }
+
+    private static synchronized int assignIndex(AttachmentType<?> type) {
+        if (type.index < 0) {
+            var types = typesByIndex;
+            int index = types.length;
+            types = Arrays.copyOf(types, index + 1);
+            types[index] = type;
+            type.index = index;
+            if (type.serializer != null)
+                serializableBound = index + 1;
+            typesByIndex = types;
+        }
+        return type.index;
+    }
+
+    static AttachmentType<?> getType(int index) {
+        return typesByIndex[index];
+    }
+
+    static int getSerializableBound() {
+        return serializableBound;
+    }
+
     /**
      * Copy some attachments to another holder.
      */
     private static <H extends AttachmentHolder> void copyAttachments(HolderLookup.Provider provider, H from, H to, Predicate<AttachmentType<?>> filter) {
-        if (from.attachments == null) {
+        var attachments = from.attachments;
+        if (attachments == null) {
             return;
         }
-        for (var entry : from.attachments.entrySet()) {
-            AttachmentType<?> type = entry.getKey();
+        int end = Math.min(attachments.length, serializableBound);
+        for (int i = 0; i < end; ++i) {
+            Object attachment = attachments[i];
+            if (attachment == null) {
+                continue;
+            }
+            AttachmentType<?> type = getType(i);
             if (type.serializer == null) {
                 continue;
             }
             @SuppressWarnings("unchecked")
             var copyHandler = (IAttachmentCopyHandler<Object>) type.copyHandler;
             if (filter.test(type)) {
-                Object copy = copyHandler.copy(entry.getValue(), to.getExposedHolder(), provider);
+                Object copy = copyHandler.copy(attachment, to.getExposedHolder(), provider);
                 if (copy != null) {
-                    to.getAttachmentMap().put(type, copy);
+                    to.putAttachment(i, copy);
                 }
             }
         }
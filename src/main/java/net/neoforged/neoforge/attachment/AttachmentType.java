@@ -60,12 +60,19 @@ public final class AttachmentType<T> {
     @Nullable
     final IAttachmentSerializer<?, T> serializer;
     final boolean copyOnDeath;
+    final boolean tracksChanges;
     final IAttachmentCopyHandler<T> copyHandler;
+    /**
+     * Index of this type in the attachment arrays of {@link AttachmentHolder}, or {@code -1} if it was not assigned yet.
+     * Registered types are assigned an index when the registry is baked, see {@link AttachmentInternals#assignIndices}.
+     */
+    int index = -1;
 
     private AttachmentType(Builder<T> builder) {
         this.defaultValueSupplier = builder.defaultValueSupplier;
         this.serializer = builder.serializer;
         this.copyOnDeath = builder.copyOnDeath;
+        this.tracksChanges = builder.tracksChanges;
         this.copyHandler = builder.copyHandler != null ? builder.copyHandler : defaultCopyHandler(serializer);
     }
 
@@ -150,6 +157,7 @@ public final class AttachmentType<T> {
         @Nullable
         private IAttachmentSerializer<?, T> serializer;
         private boolean copyOnDeath;
+        private boolean tracksChanges;
         @Nullable
         private IAttachmentCopyHandler<T> copyHandler;
 
@@ -223,6 +231,21 @@ public final class AttachmentType<T> {
             return this;
         }
 
+        /**
+         * Declares that all modifications of this attachment are signalled to its holder,
+         * either by replacing the attachment with {@link IAttachmentHolder#setData} or by calling {@link IAttachmentHolder#markDataChanged}.
+         *
+         * <p>The serialized form of the attachment is then reused until the attachment changes,
+         * instead of being re-encoded every time its holder is saved.
+         * The serialized tag must not be modified after it is returned by the serializer.
+         */
+        public Builder<T> trackChanges() {
+            if (this.serializer == null)
+                throw new IllegalStateException("trackChanges requires a serializer");
+            this.tracksChanges = true;
+            return this;
+        }
+
         /**
          * Overrides the copyHandler for this attachment type.
          *
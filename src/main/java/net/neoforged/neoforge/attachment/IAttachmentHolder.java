@@ -94,4 +94,21 @@ public interface IAttachmentHolder {
     default <T> @Nullable T removeData(Supplier<AttachmentType<T>> type) {
         return removeData(type.get());
     }
+
+    /**
+     * Signals that the data attachment of the given type was modified in place.
+     *
+     * <p>This must be called after modifying an attachment whose type {@linkplain AttachmentType.Builder#trackChanges() tracks changes},
+     * otherwise the modification might not be saved.
+     */
+    default void markDataChanged(AttachmentType<?> type) {}
+
+    /**
+     * Signals that the data attachment of the given type was modified in place.
+     *
+     * @see #markDataChanged(AttachmentType)
+     */
+    default <T> void markDataChanged(Supplier<AttachmentType<T>> type) {
+        markDataChanged(type.get());
+    }
 }
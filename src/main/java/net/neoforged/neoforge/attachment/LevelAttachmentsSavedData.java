@@ -44,7 +44,7 @@ public class LevelAttachmentsSavedData extends SavedData {
 
     @Override
     public boolean isDirty() {
-        // Always re-save
-        return true;
+        // Re-save unless all the attachments are known to be unchanged
+        return level.hasAttachmentChanges();
     }
 }
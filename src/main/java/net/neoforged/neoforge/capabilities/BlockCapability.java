@@ -135,6 +135,42 @@ public final class BlockCapability<T, C extends @Nullable Object> extends BaseCa
     }
 
     final Map<Block, List<IBlockCapabilityProvider<T, C>>> providers = new IdentityHashMap<>();
+    /**
+     * Dispatch table indexed by block registry id, built from {@link #providers} by {@link #bakeProviders()}.
+     * Each slot holds the only provider of the block, a composite of all of its providers, or {@code null} if there are none.
+     */
+    @SuppressWarnings("unchecked") // Generic array creation, the array only ever holds providers of this capability
+    private IBlockCapabilityProvider<T, C>[] dispatch = new IBlockCapabilityProvider[0];
+
+    /**
+     * Rebuilds {@link #dispatch}. The {@linkplain Block#getCapabilityDispatchId() cached registry ids} must be up-to-date.
+     */
+    void bakeProviders() {
+        @SuppressWarnings("unchecked") // Generic array creation, the array only ever holds providers of this capability
+        IBlockCapabilityProvider<T, C>[] table = new IBlockCapabilityProvider[providers.keySet().stream().mapToInt(Block::getCapabilityDispatchId).max().orElse(-1) + 1];
+        providers.forEach((block, blockProviders) -> {
+            int id = block.getCapabilityDispatchId();
+            if (id >= 0)
+                table[id] = compose(blockProviders);
+        });
+        dispatch = table;
+    }
+
+    private static <T, C extends @Nullable Object> IBlockCapabilityProvider<T, C> compose(List<IBlockCapabilityProvider<T, C>> providers) {
+        if (providers.size() == 1)
+            return providers.getFirst();
+
+        @SuppressWarnings("unchecked") // Generic array creation, the array only holds the given providers
+        IBlockCapabilityProvider<T, C>[] array = providers.toArray(IBlockCapabilityProvider[]::new);
+        return (level, pos, state, blockEntity, context) -> {
+            for (var provider : array) {
+                var ret = provider.getCapability(level, pos, state, blockEntity, context);
+                if (ret != null)
+                    return ret;
+            }
+            return null;
+        };
+    }
 
     @ApiStatus.Internal
     @Nullable
@@ -154,11 +190,13 @@ public final class BlockCapability<T, C extends @Nullable Object> extends BaseCa
                 state = blockEntity.getBlockState();
         }
 
-        for (var provider : providers.getOrDefault(state.getBlock(), List.of())) {
-            var ret = provider.getCapability(level, pos, state, blockEntity, context);
-            if (ret != null)
-                return ret;
-        }
-        return null;
+        var table = dispatch;
+        // Read the cached registry id, to avoid a hash lookup in the registry
+        int id = state.getBlock().getCapabilityDispatchId();
+        if (id < 0 || id >= table.length)
+            return null;
+
+        var provider = table[id];
+        return provider == null ? null : provider.getCapability(level, pos, state, blockEntity, context);
     }
 }
@@ -136,7 +136,8 @@ public final class BlockCapabilityCache<T, C extends @Nullable Object> {
         if (!canQuery)
             throw new IllegalStateException("Do not call getCapability on an invalid cache or from the invalidation listener!");
 
-        if (!cacheValid) {
+        // Invalidations are delivered at the end of the tick, make sure that we don't return a stale capability in the meantime.
+        if (!cacheValid || level.isCapabilityInvalidationPending(pos)) {
             if (!level.isLoaded(pos)) {
                 // If the position is not loaded, return no capability for now.
                 // The cache will be invalidated when the chunk is loaded.
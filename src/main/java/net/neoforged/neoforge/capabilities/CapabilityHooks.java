@@ -16,10 +16,12 @@ import net.minecraft.world.entity.animal.horse.AbstractHorse;
 import net.minecraft.world.item.BucketItem;
 import net.minecraft.world.item.Item;
 import net.minecraft.world.item.Items;
+import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.Blocks;
 import net.minecraft.world.level.block.ChestBlock;
 import net.minecraft.world.level.block.entity.BlockEntityType;
 import net.neoforged.fml.ModLoader;
+import net.neoforged.neoforge.common.NeoForgeConfig;
 import net.neoforged.neoforge.common.NeoForgeMod;
 import net.neoforged.neoforge.event.level.ChunkEvent;
 import net.neoforged.neoforge.event.tick.LevelTickEvent;
@@ -33,7 +35,9 @@ import net.neoforged.neoforge.items.wrapper.ForwardingItemHandler;
 import net.neoforged.neoforge.items.wrapper.InvWrapper;
 import net.neoforged.neoforge.items.wrapper.PlayerInvWrapper;
 import net.neoforged.neoforge.items.wrapper.SidedInvWrapper;
+import net.neoforged.neoforge.registries.callback.BakeCallback;
 import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
 
 @ApiStatus.Internal
 public class CapabilityHooks {
@@ -49,6 +53,56 @@ public class CapabilityHooks {
         ModLoader.postEventWrapContainerInModOrder(event);
 
         initFinished = true;
+
+        bakeBlockProviders();
+        bakeEntityProviders();
+        bakeItemProviders();
+        // The dispatch tables are indexed by the registry ids cached on each block, entity type and item.
+        // Refresh the ids and rebuild the tables if the ids change (e.g. after registry sync).
+        BuiltInRegistries.BLOCK.addCallback((BakeCallback<Block>) registry -> bakeBlockProviders());
+        BuiltInRegistries.ENTITY_TYPE.addCallback((BakeCallback<EntityType<?>>) registry -> bakeEntityProviders());
+        BuiltInRegistries.ITEM.addCallback((BakeCallback<Item>) registry -> bakeItemProviders());
+    }
+
+    private static void bakeBlockProviders() {
+        for (Block block : BuiltInRegistries.BLOCK)
+            block.setCapabilityDispatchId(BuiltInRegistries.BLOCK.getId(block));
+        for (var capability : BlockCapability.getAll())
+            capability.bakeProviders();
+    }
+
+    private static void bakeEntityProviders() {
+        for (EntityType<?> entityType : BuiltInRegistries.ENTITY_TYPE)
+            entityType.setCapabilityDispatchId(BuiltInRegistries.ENTITY_TYPE.getId(entityType));
+        for (var capability : EntityCapability.getAll())
+            capability.bakeProviders();
+    }
+
+    private static void bakeItemProviders() {
+        for (Item item : BuiltInRegistries.ITEM)
+            item.setCapabilityDispatchId(BuiltInRegistries.ITEM.getId(item));
+        for (var capability : ItemCapability.getAll())
+            capability.bakeProviders();
+    }
+
+    /**
+     * Composes a list of providers into a single provider that returns the first non-null capability.
+     * If there is only one provider, it is returned directly.
+     */
+    static <O, C extends @Nullable Object, T> ICapabilityProvider<O, C, T> compose(List<ICapabilityProvider<O, C, T>> providers) {
+        if (providers.size() == 1)
+            return providers.getFirst();
+
+        @SuppressWarnings("unchecked") // Generic array creation, the array only holds the given providers
+        ICapabilityProvider<O, C, T>[] array = providers.toArray(ICapabilityProvider[]::new);
+        return (object, context) -> {
+            for (var provider : array) {
+                var ret = provider.getCapability(object, context);
+                if (ret != null)
+                    return ret;
+            }
+            return null;
+        };
     }
 
     public static void registerVanillaProviders(RegisterCapabilitiesEvent event) {
@@ -180,8 +234,10 @@ public class CapabilityHooks {
         }
     }
 
-    public static void cleanCapabilityListenerReferencesOnTick(LevelTickEvent.Post event) {
+    public static void updateCapabilityListenersOnTick(LevelTickEvent.Post event) {
         if (event.getLevel() instanceof ServerLevel sl) {
+            sl.getCapabilityLookupCache().endTick(NeoForgeConfig.SERVER.cacheCapabilityLookups.getAsBoolean());
+            sl.flushCapabilityInvalidations();
             sl.cleanCapabilityListenerReferences();
         }
     }
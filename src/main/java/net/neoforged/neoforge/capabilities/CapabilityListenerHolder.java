@@ -5,134 +5,329 @@
 
 package net.neoforged.neoforge.capabilities;
 
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
 import it.unimi.dsi.fastutil.longs.Long2ReferenceMap;
 import it.unimi.dsi.fastutil.longs.Long2ReferenceOpenHashMap;
-import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
 import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
-import java.util.Set;
+import java.util.Arrays;
 import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
 import net.minecraft.world.level.ChunkPos;
 import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Holder for capability listeners associated to a level.
+ *
+ * <p>Invalidations are not delivered immediately. They are recorded and coalesced,
+ * and delivered in one batch by {@link #flush()}, which runs at the end of each level tick.
+ * Use {@link #isInvalidationPending(BlockPos)} to check if a position has an undelivered invalidation.
  */
 // For now, we don't invalidate the cache when the level is unloaded but the chunk unload events do not fire.
 // This can be re-evaluated in the future.
 @ApiStatus.Internal
 public class CapabilityListenerHolder {
     /**
-     * Map of chunk pos -> block pos -> listeners map.
+     * Maximum number of garbage-collected references processed by a single call to {@link #clean()}.
+     * Any remaining references are processed by the next calls.
+     */
+    private static final int MAX_CLEANED_PER_CALL = 1024;
+
+    /**
+     * Map of chunk pos -> listeners of that chunk.
      *
-     * <p>We have a two-level map to efficiently invalidate entire chunks at once.
+     * <p>Listeners are indexed per chunk to efficiently invalidate entire chunks at once.
      */
-    private final Long2ReferenceMap<Long2ReferenceMap<Set<ListenerReference>>> byChunkThenBlock = new Long2ReferenceOpenHashMap<>();
+    private final Long2ReferenceMap<ChunkListeners> byChunk = new Long2ReferenceOpenHashMap<>();
     /**
      * Reference queue for the listener references.
-     * This allows us to listen to reference garbage collection, and remove empty entries from {@link #byChunkThenBlock}.
+     * This allows us to listen to reference garbage collection, and remove dead entries from {@link #byChunk}.
      */
     private final ReferenceQueue<ICapabilityInvalidationListener> queue = new ReferenceQueue<>();
+    /**
+     * Positions and chunks that were invalidated since the last {@link #flush()}.
+     * The spare sets are swapped in during the flush, such that listeners can safely request further invalidations.
+     */
+    private LongOpenHashSet pendingPositions = new LongOpenHashSet();
+    private LongOpenHashSet pendingChunks = new LongOpenHashSet();
+    private LongOpenHashSet sparePositions = new LongOpenHashSet();
+    private LongOpenHashSet spareChunks = new LongOpenHashSet();
 
     /**
      * Adds a listener.
      */
     public void addListener(BlockPos pos, ICapabilityInvalidationListener listener) {
-        pos = pos.immutable();
-        var chunkHolder = byChunkThenBlock.computeIfAbsent(ChunkPos.asLong(pos), l -> new Long2ReferenceOpenHashMap<>());
-        var listenersSet = chunkHolder.computeIfAbsent(pos.asLong(), l -> new ObjectOpenHashSet<>());
-
-        var reference = new ListenerReference(queue, pos, listener);
-        if (!listenersSet.add(reference)) {
-            // Clear the reference immediately if it was a duplicate.
-            reference.clear();
-        }
+        var chunkListeners = byChunk.computeIfAbsent(ChunkPos.asLong(pos), ChunkListeners::new);
+        chunkListeners.add(packLocalPos(pos), new ListenerReference(queue, listener));
     }
 
     /**
      * Invalidates listeners at a specific block position.
+     * The listeners will be notified during the next {@link #flush()}.
      */
     public void invalidatePos(BlockPos pos) {
-        var chunkHolder = byChunkThenBlock.get(ChunkPos.asLong(pos));
-        if (chunkHolder != null) {
-            var caches = chunkHolder.get(pos.asLong());
-            if (caches != null)
-                invalidateList(caches);
+        if (byChunk.containsKey(ChunkPos.asLong(pos))) {
+            pendingPositions.add(pos.asLong());
         }
     }
 
     /**
      * Invalidates listeners at a specific chunk position.
+     * The listeners will be notified during the next {@link #flush()}.
      */
     public void invalidateChunk(ChunkPos chunkPos) {
-        var chunkHolder = byChunkThenBlock.get(chunkPos.toLong());
-        if (chunkHolder != null) {
-            for (var caches : chunkHolder.values())
-                invalidateList(caches);
+        long chunkKey = chunkPos.toLong();
+        if (byChunk.containsKey(chunkKey)) {
+            pendingChunks.add(chunkKey);
         }
     }
 
-    private void invalidateList(Set<ListenerReference> caches) {
-        caches.removeIf(ref -> {
-            var listener = ref.get();
-            return listener == null || !listener.onInvalidate();
-        });
+    /**
+     * {@return {@code true} if an invalidation of the given position was requested but not delivered yet}
+     */
+    public boolean isInvalidationPending(BlockPos pos) {
+        return (!pendingChunks.isEmpty() && pendingChunks.contains(ChunkPos.asLong(pos)))
+                || (!pendingPositions.isEmpty() && pendingPositions.contains(pos.asLong()));
+    }
+
+    /**
+     * Delivers all the invalidations requested since the last flush.
+     * Invalidations requested by the listeners themselves are delivered during the next flush.
+     */
+    public void flush() {
+        if (pendingChunks.isEmpty() && pendingPositions.isEmpty())
+            return;
+
+        var chunks = pendingChunks;
+        var positions = pendingPositions;
+        pendingChunks = spareChunks;
+        pendingPositions = sparePositions;
+
+        for (LongIterator it = chunks.iterator(); it.hasNext();) {
+            long chunkKey = it.nextLong();
+            var chunkListeners = byChunk.get(chunkKey);
+            if (chunkListeners != null) {
+                chunkListeners.invalidateAll();
+                removeIfEmpty(chunkKey, chunkListeners);
+            }
+        }
+        for (LongIterator it = positions.iterator(); it.hasNext();) {
+            long pos = it.nextLong();
+            long chunkKey = ChunkPos.asLong(SectionPos.blockToSectionCoord(BlockPos.getX(pos)), SectionPos.blockToSectionCoord(BlockPos.getZ(pos)));
+            if (chunks.contains(chunkKey))
+                continue; // already invalidated as part of the whole chunk
+
+            var chunkListeners = byChunk.get(chunkKey);
+            if (chunkListeners != null) {
+                chunkListeners.invalidateAt(packLocalPos(BlockPos.getX(pos), BlockPos.getY(pos), BlockPos.getZ(pos)));
+                removeIfEmpty(chunkKey, chunkListeners);
+            }
+        }
+
+        chunks.clear();
+        positions.clear();
+        spareChunks = chunks;
+        sparePositions = positions;
     }
 
     /**
-     * Poll the reference queue, and remove garbage-collected listener references entries from {@link #byChunkThenBlock}.
+     * Poll the reference queue, and remove garbage-collected listener references from {@link #byChunk}.
+     * At most {@value #MAX_CLEANED_PER_CALL} references are processed per call.
      */
     public void clean() {
-        while (true) {
+        for (int i = 0; i < MAX_CLEANED_PER_CALL; ++i) {
             ListenerReference ref = (ListenerReference) queue.poll();
             if (ref == null)
                 return;
 
-            var chunkHolder = byChunkThenBlock.get(ChunkPos.asLong(ref.pos));
-            if (chunkHolder == null)
+            var owner = ref.owner;
+            // The reference might have been removed already, if its listener was invalidated.
+            if (owner == null)
                 continue;
 
-            var set = chunkHolder.get(ref.pos.asLong());
-            if (set == null)
-                continue;
-            // We might remove a different garbage-collected reference,
-            // or we might remove nothing if the reference was already removed.
-            // Because the hash codes will match, that is fine.
-            boolean removed = set.remove(ref);
-
-            if (removed && set.isEmpty()) {
-                chunkHolder.remove(ref.pos.asLong());
-                if (chunkHolder.isEmpty()) {
-                    byChunkThenBlock.remove(ChunkPos.asLong(ref.pos));
-                }
+            owner.remove(ref);
+            owner.compactIfNeeded();
+            if (owner.isEmpty()) {
+                byChunk.remove(owner.chunkKey, owner);
             }
         }
     }
 
-    private static class ListenerReference extends WeakReference<ICapabilityInvalidationListener> {
-        private final BlockPos pos;
-        private final int listenerHashCode;
+    private void removeIfEmpty(long chunkKey, ChunkListeners chunkListeners) {
+        chunkListeners.compactIfNeeded();
+        if (chunkListeners.isEmpty()) {
+            byChunk.remove(chunkKey);
+        }
+    }
 
-        private ListenerReference(ReferenceQueue<ICapabilityInvalidationListener> queue, BlockPos pos, ICapabilityInvalidationListener listener) {
-            super(listener, queue);
-            this.pos = pos;
-            this.listenerHashCode = System.identityHashCode(listener);
+    private static int packLocalPos(BlockPos pos) {
+        return packLocalPos(pos.getX(), pos.getY(), pos.getZ());
+    }
+
+    /**
+     * Packs a position into an int, relative to its chunk.
+     * The lowest 8 bits store the local x and z coordinates, and the remaining bits store the (signed) y coordinate.
+     */
+    private static int packLocalPos(int x, int y, int z) {
+        return (y << 8) | ((x & 15) << 4) | (z & 15);
+    }
+
+    /**
+     * Listeners of a single chunk, stored in parallel arrays.
+     *
+     * <p>Slots of removed listeners are set to {@code null} and reclaimed by {@link #compactIfNeeded()}.
+     * Listeners at the same position are chained together through {@link #next}, starting from {@link #heads}.
+     */
+    private static final class ChunkListeners {
+        private static final int INITIAL_CAPACITY = 4;
+        private static final int NO_NEXT = -1;
+
+        private final long chunkKey;
+        private int[] positions = new int[INITIAL_CAPACITY];
+        private int[] next = new int[INITIAL_CAPACITY];
+        private ListenerReference[] listeners = new ListenerReference[INITIAL_CAPACITY];
+        /**
+         * Map of packed local position -> index of the most recently added listener at that position.
+         */
+        private final Int2IntOpenHashMap heads = new Int2IntOpenHashMap();
+        private int size = 0;
+        private int removed = 0;
+        /**
+         * Compaction is deferred while listeners are being notified, since notifications can add new listeners.
+         */
+        private boolean notifying = false;
+
+        private ChunkListeners(long chunkKey) {
+            this.chunkKey = chunkKey;
+            heads.defaultReturnValue(NO_NEXT);
+        }
+
+        private void add(int packedPos, ListenerReference reference) {
+            var listener = reference.get();
+            int head = heads.get(packedPos);
+            for (int i = head; i != NO_NEXT; i = next[i]) {
+                var existing = listeners[i];
+                if (existing != null && existing.get() == listener) {
+                    // Clear the reference immediately if it was a duplicate.
+                    reference.clear();
+                    return;
+                }
+            }
+
+            if (size == listeners.length) {
+                int newCapacity = size * 2;
+                positions = Arrays.copyOf(positions, newCapacity);
+                next = Arrays.copyOf(next, newCapacity);
+                listeners = Arrays.copyOf(listeners, newCapacity);
+            }
+
+            int index = size++;
+            positions[index] = packedPos;
+            next[index] = head;
+            listeners[index] = reference;
+            heads.put(packedPos, index);
+            reference.owner = this;
+            reference.index = index;
         }
 
-        @Override
-        public boolean equals(Object obj) {
-            if (obj instanceof ListenerReference otherRef) {
-                // Equivalent if the hash codes and the listeners match.
-                // Use identity comparisons.
-                return otherRef.listenerHashCode == listenerHashCode && otherRef.get() == get();
-            } else {
-                return false;
+        private void remove(ListenerReference reference) {
+            listeners[reference.index] = null;
+            reference.owner = null;
+            reference.clear();
+            removed++;
+        }
+
+        private void invalidateAll() {
+            notifying = true;
+            try {
+                // Listeners added during the notification are not notified.
+                int end = size;
+                for (int i = 0; i < end; ++i) {
+                    invalidateSlot(i);
+                }
+            } finally {
+                notifying = false;
             }
         }
 
-        @Override
-        public int hashCode() {
-            return listenerHashCode;
+        private void invalidateAt(int packedPos) {
+            notifying = true;
+            try {
+                // Listeners added during the notification are prepended to the chain, so they are not notified.
+                for (int i = heads.get(packedPos); i != NO_NEXT; i = next[i]) {
+                    invalidateSlot(i);
+                }
+            } finally {
+                notifying = false;
+            }
+        }
+
+        private void invalidateSlot(int index) {
+            var reference = listeners[index];
+            if (reference == null)
+                return;
+
+            var listener = reference.get();
+            if (listener == null || !listener.onInvalidate()) {
+                remove(reference);
+            }
+        }
+
+        private boolean isEmpty() {
+            return size == removed;
+        }
+
+        /**
+         * Reclaims the slots of removed listeners once they make up at least half of the slots.
+         */
+        private void compactIfNeeded() {
+            if (notifying || removed == 0 || removed * 2 < size)
+                return;
+
+            heads.clear();
+            int live = 0;
+            for (int i = 0; i < size; ++i) {
+                var reference = listeners[i];
+                if (reference == null)
+                    continue;
+
+                int packedPos = positions[i];
+                positions[live] = packedPos;
+                listeners[live] = reference;
+                next[live] = heads.get(packedPos);
+                heads.put(packedPos, live);
+                reference.index = live;
+                live++;
+            }
+            Arrays.fill(listeners, live, size, null);
+            size = live;
+            removed = 0;
+
+            if (listeners.length > INITIAL_CAPACITY && live * 4 <= listeners.length) {
+                int newCapacity = Math.max(INITIAL_CAPACITY, listeners.length / 2);
+                positions = Arrays.copyOf(positions, newCapacity);
+                next = Arrays.copyOf(next, newCapacity);
+                listeners = Arrays.copyOf(listeners, newCapacity);
+            }
+        }
+    }
+
+    private static final class ListenerReference extends WeakReference<ICapabilityInvalidationListener> {
+        /**
+         * The chunk listeners this reference is stored in, or {@code null} if it was removed.
+         */
+        @Nullable
+        private ChunkListeners owner;
+        /**
+         * Index of this reference in {@link #owner}.
+         */
+        private int index;
+
+        private ListenerReference(ReferenceQueue<ICapabilityInvalidationListener> queue, ICapabilityInvalidationListener listener) {
+            super(listener, queue);
         }
     }
 }
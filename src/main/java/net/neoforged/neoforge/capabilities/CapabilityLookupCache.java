@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) NeoForged and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.neoforged.neoforge.capabilities;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import java.util.Objects;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Per-level cache of block capability lookups, valid for the duration of a single tick.
+ *
+ * <p>Only lookups that do not provide a block state or a block entity are cached.
+ * Entries are removed when {@link ServerLevel#invalidateCapabilities} is called for their position or chunk,
+ * and the whole cache is cleared at the end of every level tick.
+ *
+ * <p>The cache is only used on the server thread, and only if enabled in the NeoForge server config.
+ */
+@ApiStatus.Internal
+public final class CapabilityLookupCache {
+    /**
+     * Map of chunk pos -> block pos -> linked list of cached lookups at that position.
+     * Grouping the positions by chunk allows dropping the lookups of a chunk without scanning the whole cache.
+     */
+    private final Long2ObjectOpenHashMap<Long2ObjectOpenHashMap<Entry>> byChunk = new Long2ObjectOpenHashMap<>();
+    private boolean enabled = false;
+    private long hits = 0;
+    private long misses = 0;
+
+    @Nullable
+    public <T, C extends @Nullable Object> T getCapability(ServerLevel level, BlockCapability<T, C> capability, BlockPos pos, C context) {
+        if (!enabled || !level.getServer().isSameThread())
+            return capability.getCapability(level, pos, null, null, context);
+
+        long key = pos.asLong();
+        var byPos = byChunk.get(ChunkPos.asLong(pos));
+        for (var entry = byPos == null ? null : byPos.get(key); entry != null; entry = entry.next) {
+            if (entry.capability == capability && Objects.equals(entry.context, context)) {
+                hits++;
+                return (T) entry.value;
+            }
+        }
+
+        misses++;
+        T value = capability.getCapability(level, pos, null, null, context);
+        // Re-read the chunk and the head, the provider might have queried other capabilities at the same position.
+        byPos = byChunk.computeIfAbsent(ChunkPos.asLong(pos), k -> new Long2ObjectOpenHashMap<>());
+        byPos.put(key, new Entry(capability, context, value, byPos.get(key)));
+        return value;
+    }
+
+    /**
+     * Removes the cached lookups at a specific block position.
+     */
+    public void invalidatePos(BlockPos pos) {
+        if (byChunk.isEmpty())
+            return;
+
+        var byPos = byChunk.get(ChunkPos.asLong(pos));
+        if (byPos != null)
+            byPos.remove(pos.asLong());
+    }
+
+    /**
+     * Removes the cached lookups at all the positions in a chunk.
+     */
+    public void invalidateChunk(ChunkPos chunkPos) {
+        if (!byChunk.isEmpty())
+            byChunk.remove(chunkPos.toLong());
+    }
+
+    /**
+     * Removes all the cached lookups, and enables or disables the cache for the next tick.
+     */
+    public void endTick(boolean enabled) {
+        this.enabled = enabled;
+        byChunk.clear();
+    }
+
+    /**
+     * {@return whether lookups are currently cached}
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * {@return the number of lookups that were answered from the cache}
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * {@return the number of lookups that had to query the capability providers}
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    private record Entry(BlockCapability<?, ?> capability, @Nullable Object context, @Nullable Object value, @Nullable Entry next) {}
+}
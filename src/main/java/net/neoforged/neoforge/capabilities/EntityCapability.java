@@ -93,15 +93,37 @@ public final class EntityCapability<T, C extends @Nullable Object> extends BaseC
     }
 
     final Map<EntityType<?>, List<ICapabilityProvider<Entity, C, T>>> providers = new IdentityHashMap<>();
+    /**
+     * Dispatch table indexed by entity type registry id, built from {@link #providers} by {@link #bakeProviders()}.
+     * Each slot holds the only provider of the entity type, a composite of all of its providers, or {@code null} if there are none.
+     */
+    @SuppressWarnings("unchecked") // Generic array creation, the array only ever holds providers of this capability
+    private ICapabilityProvider<Entity, C, T>[] dispatch = new ICapabilityProvider[0];
+
+    /**
+     * Rebuilds {@link #dispatch}. The {@linkplain EntityType#getCapabilityDispatchId() cached registry ids} must be up-to-date.
+     */
+    void bakeProviders() {
+        @SuppressWarnings("unchecked") // Generic array creation, the array only ever holds providers of this capability
+        ICapabilityProvider<Entity, C, T>[] table = new ICapabilityProvider[providers.keySet().stream().mapToInt(EntityType::getCapabilityDispatchId).max().orElse(-1) + 1];
+        providers.forEach((entityType, entityProviders) -> {
+            int id = entityType.getCapabilityDispatchId();
+            if (id >= 0)
+                table[id] = CapabilityHooks.compose(entityProviders);
+        });
+        dispatch = table;
+    }
 
     @ApiStatus.Internal
     @Nullable
     public T getCapability(Entity entity, C context) {
-        for (var provider : providers.getOrDefault(entity.getType(), List.of())) {
-            var ret = provider.getCapability(entity, context);
-            if (ret != null)
-                return ret;
-        }
-        return null;
+        var table = dispatch;
+        // Read the cached registry id, to avoid a hash lookup in the registry
+        int id = entity.getType().getCapabilityDispatchId();
+        if (id < 0 || id >= table.length)
+            return null;
+
+        var provider = table[id];
+        return provider == null ? null : provider.getCapability(entity, context);
     }
 }
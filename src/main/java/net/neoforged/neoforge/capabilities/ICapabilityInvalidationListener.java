@@ -14,6 +14,9 @@ import net.minecraft.server.level.ServerLevel;
  *
  * <p>The listener will be held by a weak reference, so it is important to keep a strong reference to it
  * as long as you need it.
+ *
+ * <p>Invalidations are delivered in a batch at the end of each level tick.
+ * Invalidating the same position (or chunk) multiple times during a tick results in a single notification.
  */
 @FunctionalInterface
 public interface ICapabilityInvalidationListener {
@@ -84,6 +84,26 @@ public final class ItemCapability<T, C extends @Nullable Object> extends BaseCap
     }
 
     final Map<Item, List<ICapabilityProvider<ItemStack, C, T>>> providers = new IdentityHashMap<>();
+    /**
+     * Dispatch table indexed by item registry id, built from {@link #providers} by {@link #bakeProviders()}.
+     * Each slot holds the only provider of the item, a composite of all of its providers, or {@code null} if there are none.
+     */
+    @SuppressWarnings("unchecked") // Generic array creation, the array only ever holds providers of this capability
+    private ICapabilityProvider<ItemStack, C, T>[] dispatch = new ICapabilityProvider[0];
+
+    /**
+     * Rebuilds {@link #dispatch}. The {@linkplain Item#getCapabilityDispatchId() cached registry ids} must be up-to-date.
+     */
+    void bakeProviders() {
+        @SuppressWarnings("unchecked") // Generic array creation, the array only ever holds providers of this capability
+        ICapabilityProvider<ItemStack, C, T>[] table = new ICapabilityProvider[providers.keySet().stream().mapToInt(Item::getCapabilityDispatchId).max().orElse(-1) + 1];
+        providers.forEach((item, itemProviders) -> {
+            int id = item.getCapabilityDispatchId();
+            if (id >= 0)
+                table[id] = CapabilityHooks.compose(itemProviders);
+        });
+        dispatch = table;
+    }
 
     @ApiStatus.Internal
     @Nullable
@@ -96,11 +116,13 @@ public final class ItemCapability<T, C extends @Nullable Object> extends BaseCap
             return null;
         }
 
-        for (var provider : providers.getOrDefault(stack.getItem(), List.of())) {
-            var ret = provider.getCapability(stack, context);
-            if (ret != null)
-                return ret;
-        }
-        return null;
+        var table = dispatch;
+        // Read the cached registry id, to avoid a hash lookup in the registry
+        int id = stack.getItem().getCapabilityDispatchId();
+        if (id < 0 || id >= table.length)
+            return null;
+
+        var provider = table[id];
+        return provider == null ? null : provider.getCapability(stack, context);
     }
 }
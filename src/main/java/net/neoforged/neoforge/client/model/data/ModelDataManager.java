@@ -10,8 +10,9 @@ import it.unimi.dsi.fastutil.longs.Long2ObjectFunction;
 import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
 import it.unimi.dsi.fastutil.longs.Long2ObjectMaps;
 import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.BitSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.SectionPos;
 import net.minecraft.world.level.ChunkPos;
@@ -23,20 +24,37 @@ import net.neoforged.bus.api.SubscribeEvent;
 import net.neoforged.fml.common.EventBusSubscriber;
 import net.neoforged.fml.common.EventBusSubscriber.Bus;
 import net.neoforged.neoforge.event.level.ChunkEvent;
+import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.UnmodifiableView;
 
 /**
  * A manager for the lifecycle of all the {@link ModelData} instances in a {@link Level}.
  *
- * Users should not instantiate this unless they know what they are doing. The manager is also not thread-safe,
- * it should only be interacted with on the main client thread.
+ * <p>The model data of each section is stored in an array indexed by the local coordinates of the blocks,
+ * which is copied whenever the section is refreshed. Arrays are never modified once published,
+ * so {@linkplain #snapshotSectionRegion(int, int, int, int, int, int) snapshots} only hold references to them
+ * and can be read from any thread.
+ *
+ * Users should not instantiate this unless they know what they are doing. Refresh requests and queries of individual
+ * positions or sections should only happen on the main client thread. Snapshots may be taken from any thread,
+ * but pending refreshes are only applied when taking them on the main client thread.
  */
 @EventBusSubscriber(modid = "neoforge", bus = Bus.GAME, value = Dist.CLIENT)
 public class ModelDataManager {
+    private static final int SECTION_VOLUME = SectionPos.SECTION_SIZE * SectionPos.SECTION_SIZE * SectionPos.SECTION_SIZE;
+
     private final Thread owningThread = Thread.currentThread();
     private final Level level;
-    private final Long2ObjectMap<Set<BlockPos>> needModelDataRefresh = new Long2ObjectOpenHashMap<>();
-    private final Long2ObjectMap<Long2ObjectMap<ModelData>> modelDataCache = new Long2ObjectOpenHashMap<>();
+    /**
+     * The local indices of the blocks that need to be refreshed, per section.
+     */
+    private final Long2ObjectMap<BitSet> needModelDataRefresh = new Long2ObjectOpenHashMap<>();
+    /**
+     * The model data of each section. Only modified by the owning thread while holding the write lock,
+     * and only read by other threads while holding the read lock.
+     */
+    private final Long2ObjectMap<SectionModelData> modelDataCache = new Long2ObjectOpenHashMap<>();
+    private final ReadWriteLock modelDataCacheLock = new ReentrantReadWriteLock();
     public static final Long2ObjectFunction<ModelData> EMPTY_SNAPSHOT = pos -> ModelData.EMPTY;
 
     public ModelDataManager(Level level) {
@@ -54,16 +72,16 @@ public class ModelDataManager {
 
         Preconditions.checkNotNull(blockEntity, "BlockEntity must not be null");
         Preconditions.checkState(blockEntity.getLevel() == level, "BlockEntity does not belong to the level owning this manager");
-        needModelDataRefresh.computeIfAbsent(SectionPos.asLong(blockEntity.getBlockPos()), $ -> new HashSet<>())
-                .add(blockEntity.getBlockPos());
+        BlockPos pos = blockEntity.getBlockPos();
+        needModelDataRefresh.computeIfAbsent(SectionPos.asLong(pos), $ -> new BitSet(SECTION_VOLUME))
+                .set(getLocalIndex(pos.getX(), pos.getY(), pos.getZ()));
     }
 
     /**
      * Provides all the model data for a given chunk section. This is useful for mods which wish to retrieve
      * a fast view of the model data for a single section in a level.
      *
-     * <p>The returned map must be copied if it needs to be accessed from another thread, as it may be modified
-     * by this data manager.
+     * <p>The returned map is immutable, and can be accessed from other threads.
      *
      * @param pos the section to query
      * @return an (unmodifiable) map containing the {@link ModelData} stored for the given chunk section
@@ -72,12 +90,8 @@ public class ModelDataManager {
     public Long2ObjectMap<ModelData> getAt(SectionPos pos) {
         long sectionKey = pos.asLong();
         refreshAt(sectionKey);
-        var map = modelDataCache.get(sectionKey);
-        if (map != null) {
-            return Long2ObjectMaps.unmodifiable(map);
-        } else {
-            return Long2ObjectMaps.emptyMap();
-        }
+        var data = getSection(sectionKey);
+        return data != null ? data.asMap(pos) : Long2ObjectMaps.emptyMap();
     }
 
     /**
@@ -90,29 +104,66 @@ public class ModelDataManager {
         Preconditions.checkArgument(level.isClientSide, "Cannot request model data for server level");
         long sectionPos = SectionPos.asLong(pos);
         refreshAt(sectionPos);
-        return modelDataCache.getOrDefault(sectionPos, Long2ObjectMaps.emptyMap()).getOrDefault(pos.asLong(), ModelData.EMPTY);
+        var data = getSection(sectionPos);
+        return data != null ? data.get(getLocalIndex(pos.getX(), pos.getY(), pos.getZ())) : ModelData.EMPTY;
     }
 
     /**
      * Snapshot the state of this manager for all sections in the volume specified by the given section coordinates.
      * The snapshot will return {@link ModelData#EMPTY} for nonexistent keys.
+     *
+     * <p>The snapshot is immutable and does not copy the model data, so it can be cheaply taken and read from any thread.
+     * Pending refreshes of the sections are only applied when called from the owning thread.
      */
     public Long2ObjectFunction<ModelData> snapshotSectionRegion(int sectionMinX, int sectionMinY, int sectionMinZ, int sectionMaxX, int sectionMaxY, int sectionMaxZ) {
-        if (isOtherThread()) {
-            throw new UnsupportedOperationException("Cannot snapshot active manager outside the owning thread: " + owningThread);
-        }
-        Long2ObjectMap<ModelData> cache = new Long2ObjectOpenHashMap<>();
-        cache.defaultReturnValue(ModelData.EMPTY);
+        int sizeX = sectionMaxX - sectionMinX + 1;
+        int sizeY = sectionMaxY - sectionMinY + 1;
+        int sizeZ = sectionMaxZ - sectionMinZ + 1;
+        SectionModelData[] sections = null;
         for (int x = sectionMinX; x <= sectionMaxX; x++) {
             for (int y = sectionMinY; y <= sectionMaxY; y++) {
                 for (int z = sectionMinZ; z <= sectionMaxZ; z++) {
                     long sectionPos = SectionPos.asLong(x, y, z);
                     refreshAt(sectionPos);
-                    cache.putAll(modelDataCache.getOrDefault(sectionPos, Long2ObjectMaps.emptyMap()));
+                    SectionModelData data = getSection(sectionPos);
+                    if (data != null) {
+                        if (sections == null) {
+                            sections = new SectionModelData[sizeX * sizeY * sizeZ];
+                        }
+                        sections[((x - sectionMinX) * sizeY + (y - sectionMinY)) * sizeZ + (z - sectionMinZ)] = data;
+                    }
                 }
             }
         }
-        return cache.isEmpty() ? EMPTY_SNAPSHOT : cache;
+        return sections == null ? EMPTY_SNAPSHOT : new Snapshot(sectionMinX, sectionMinY, sectionMinZ, sizeX, sizeY, sizeZ, sections);
+    }
+
+    @Nullable
+    private SectionModelData getSection(long section) {
+        if (!isOtherThread()) {
+            // Only the owning thread modifies the cache
+            return modelDataCache.get(section);
+        }
+
+        modelDataCacheLock.readLock().lock();
+        try {
+            return modelDataCache.get(section);
+        } finally {
+            modelDataCacheLock.readLock().unlock();
+        }
+    }
+
+    private void setSection(long section, @Nullable SectionModelData data) {
+        modelDataCacheLock.writeLock().lock();
+        try {
+            if (data != null) {
+                modelDataCache.put(section, data);
+            } else {
+                modelDataCache.remove(section);
+            }
+        } finally {
+            modelDataCacheLock.writeLock().unlock();
+        }
     }
 
     private void refreshAt(long section) {
@@ -120,11 +171,19 @@ public class ModelDataManager {
             return;
         }
 
-        Set<BlockPos> needUpdate = needModelDataRefresh.remove(section);
+        BitSet needUpdate = needModelDataRefresh.remove(section);
 
         if (needUpdate != null) {
-            Long2ObjectMap<ModelData> data = modelDataCache.computeIfAbsent(section, $ -> new Long2ObjectOpenHashMap<>());
-            for (BlockPos pos : needUpdate) {
+            SectionModelData oldData = modelDataCache.get(section);
+            // Copy the data, as the current array may be used by snapshots
+            ModelData[] data = oldData != null ? oldData.data.clone() : new ModelData[SECTION_VOLUME];
+            int count = oldData != null ? oldData.count : 0;
+            int minX = SectionPos.sectionToBlockCoord(SectionPos.x(section));
+            int minY = SectionPos.sectionToBlockCoord(SectionPos.y(section));
+            int minZ = SectionPos.sectionToBlockCoord(SectionPos.z(section));
+            BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+            for (int index = needUpdate.nextSetBit(0); index >= 0; index = needUpdate.nextSetBit(index + 1)) {
+                pos.set(minX + getLocalX(index), minY + getLocalY(index), minZ + getLocalZ(index));
                 BlockEntity toUpdate = level.getBlockEntity(pos);
                 ModelData newData = ModelData.EMPTY;
                 // Query the BE for new model data if it exists
@@ -136,17 +195,19 @@ public class ModelDataManager {
                         throw new NullPointerException("Null ModelData provided by " + BlockEntityType.getKey(toUpdate.getType()) + " @ " + pos);
                     }
                 }
-                // Make sure we don't bother storing empty data in the map
-                if (newData != ModelData.EMPTY) {
-                    data.put(pos.asLong(), newData);
-                } else {
-                    data.remove(pos.asLong());
+                // Make sure we don't bother storing empty data in the array
+                if (newData == ModelData.EMPTY) {
+                    newData = null;
                 }
+                if (data[index] == null && newData != null) {
+                    count++;
+                } else if (data[index] != null && newData == null) {
+                    count--;
+                }
+                data[index] = newData;
             }
-            // Remove the map completely if it's now empty
-            if (data.isEmpty()) {
-                modelDataCache.remove(section);
-            }
+            // Remove the section completely if it's now empty
+            setSection(section, count > 0 ? new SectionModelData(data, count) : null);
         }
     }
 
@@ -154,6 +215,22 @@ public class ModelDataManager {
         return Thread.currentThread() != owningThread;
     }
 
+    private static int getLocalIndex(int x, int y, int z) {
+        return (y & 15) << 8 | (z & 15) << 4 | (x & 15);
+    }
+
+    private static int getLocalX(int index) {
+        return index & 15;
+    }
+
+    private static int getLocalY(int index) {
+        return index >> 8 & 15;
+    }
+
+    private static int getLocalZ(int index) {
+        return index >> 4 & 15;
+    }
+
     @SubscribeEvent
     public static void onChunkUnload(ChunkEvent.Unload event) {
         var level = event.getChunk().getLevel();
@@ -167,8 +244,81 @@ public class ModelDataManager {
             for (int y = level.getMinSectionY(); y < maxSection; y++) {
                 long section = SectionPos.asLong(chunk.x, y, chunk.z);
                 modelDataManager.needModelDataRefresh.remove(section);
-                modelDataManager.modelDataCache.remove(section);
+                if (modelDataManager.modelDataCache.containsKey(section)) {
+                    modelDataManager.setSection(section, null);
+                }
+            }
+        }
+    }
+
+    /**
+     * The immutable model data of a section.
+     */
+    private static final class SectionModelData {
+        /**
+         * The model data of each block, indexed by local coordinates, or {@code null} for blocks without model data.
+         */
+        private final @Nullable ModelData[] data;
+        /**
+         * The number of blocks with model data.
+         */
+        private final int count;
+        @Nullable
+        private volatile Long2ObjectMap<ModelData> map;
+
+        private SectionModelData(@Nullable ModelData[] data, int count) {
+            this.data = data;
+            this.count = count;
+        }
+
+        ModelData get(int index) {
+            ModelData modelData = data[index];
+            return modelData != null ? modelData : ModelData.EMPTY;
+        }
+
+        Long2ObjectMap<ModelData> asMap(SectionPos pos) {
+            var map = this.map;
+            if (map == null) {
+                Long2ObjectMap<ModelData> builtMap = new Long2ObjectOpenHashMap<>(count);
+                for (int index = 0; index < data.length; index++) {
+                    if (data[index] != null) {
+                        builtMap.put(BlockPos.asLong(pos.minBlockX() + getLocalX(index), pos.minBlockY() + getLocalY(index), pos.minBlockZ() + getLocalZ(index)), data[index]);
+                    }
+                }
+                this.map = map = Long2ObjectMaps.unmodifiable(builtMap);
+            }
+            return map;
+        }
+    }
+
+    /**
+     * An immutable snapshot of the model data of a region of sections.
+     */
+    private record Snapshot(int minX, int minY, int minZ, int sizeX, int sizeY, int sizeZ, @Nullable SectionModelData[] sections) implements Long2ObjectFunction<ModelData> {
+        @Override
+        public ModelData get(long pos) {
+            int x = BlockPos.getX(pos);
+            int y = BlockPos.getY(pos);
+            int z = BlockPos.getZ(pos);
+            int sectionX = SectionPos.blockToSectionCoord(x) - minX;
+            int sectionY = SectionPos.blockToSectionCoord(y) - minY;
+            int sectionZ = SectionPos.blockToSectionCoord(z) - minZ;
+            if (sectionX < 0 || sectionX >= sizeX || sectionY < 0 || sectionY >= sizeY || sectionZ < 0 || sectionZ >= sizeZ) {
+                return ModelData.EMPTY;
             }
+
+            SectionModelData data = sections[(sectionX * sizeY + sectionY) * sizeZ + sectionZ];
+            return data != null ? data.get(getLocalIndex(x, y, z)) : ModelData.EMPTY;
+        }
+
+        @Override
+        public ModelData defaultReturnValue() {
+            return ModelData.EMPTY;
+        }
+
+        @Override
+        public boolean containsKey(long pos) {
+            return get(pos) != ModelData.EMPTY;
         }
     }
 }
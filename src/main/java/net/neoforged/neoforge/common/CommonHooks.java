@@ -171,6 +171,7 @@ import net.neoforged.neoforge.event.ItemAttributeModifierEvent;
 import net.neoforged.neoforge.event.ItemStackedOnOtherEvent;
 import net.neoforged.neoforge.event.ModMismatchEvent;
 import net.neoforged.neoforge.event.RegisterStructureConversionsEvent;
+import net.neoforged.neoforge.event.ResolvedItemAttributeModifiers;
 import net.neoforged.neoforge.event.ServerChatEvent;
 import net.neoforged.neoforge.event.VanillaGameEvent;
 import net.neoforged.neoforge.event.entity.EntityAttributeCreationEvent;
@@ -933,11 +934,29 @@ public class CommonHooks {
 
     /**
      * Hook to fire {@link ItemAttributeModifierEvent}. Modders should use {@link ItemStack#forEachModifier(EquipmentSlot, BiConsumer)} instead.
+     * <p>
+     * The result is cached on the stack until its components change, a listener is registered, or different default modifiers are passed.
      */
     public static ItemAttributeModifiers computeModifiedAttributes(ItemStack stack, ItemAttributeModifiers defaultModifiers) {
+        if (!NeoForge.hasListeners(ItemAttributeModifierEvent.class)) {
+            return defaultModifiers;
+        }
+
+        ResolvedItemAttributeModifiers resolved = stack.getResolvedAttributeModifiers();
+        if (resolved != null && resolved.isValidFor(stack, defaultModifiers)) {
+            return resolved.modifiers();
+        }
+
+        // Capture the versions before firing the event, such that modifications made by listeners invalidate the result
+        int componentsVersion = stack.getComponentsModificationCount();
+        int listenerGeneration = NeoForge.getListenerGeneration();
         ItemAttributeModifierEvent event = new ItemAttributeModifierEvent(stack, defaultModifiers);
         NeoForge.EVENT_BUS.post(event);
-        return event.build();
+        ItemAttributeModifiers result = event.build();
+        if (!stack.isEmpty()) {
+            stack.setResolvedAttributeModifiers(new ResolvedItemAttributeModifiers(stack.getItem(), componentsVersion, listenerGeneration, defaultModifiers, result));
+        }
+        return result;
     }
 
     /**
@@ -1062,7 +1081,8 @@ public class CommonHooks {
     public static ObjectArrayList<ItemStack> modifyLoot(ResourceLocation lootTableId, ObjectArrayList<ItemStack> generatedLoot, LootContext context) {
         context.setQueriedLootTableId(lootTableId); // In case the ID was set via copy constructor, this will be ignored: intended
         LootModifierManager man = NeoForgeEventHandler.getLootModifierManager();
-        for (IGlobalLootModifier mod : man.getAllLootMods()) {
+        // Only modifiers that may apply to the queried loot table need to check their conditions
+        for (IGlobalLootModifier mod : man.getLootModsFor(context.getQueriedLootTableId())) {
             generatedLoot = mod.apply(generatedLoot, context);
         }
         return generatedLoot;
@@ -5,11 +5,37 @@
 
 package net.neoforged.neoforge.common;
 
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 import net.neoforged.bus.api.BusBuilder;
+import net.neoforged.bus.api.Event;
+import net.neoforged.bus.api.EventPriority;
 import net.neoforged.bus.api.IEventBus;
 import net.neoforged.fml.event.IModBusEvent;
+import org.jetbrains.annotations.ApiStatus;
 
 public class NeoForge {
+    /**
+     * Event types for which a listener was registered on the {@link #EVENT_BUS}.
+     */
+    private static final Set<Class<?>> LISTENED_EVENT_TYPES = new HashSet<>();
+    /**
+     * Cached results of {@link #hasListeners(Class)}, cleared whenever a listener is registered for a new event type.
+     */
+    private static final Map<Class<?>, Boolean> HAS_LISTENERS_CACHE = new ConcurrentHashMap<>();
+    /**
+     * Incremented whenever a listener is registered on the {@link #EVENT_BUS}.
+     */
+    private static volatile int listenerGeneration;
+    /**
+     * Whether registrations on the {@link #EVENT_BUS} are recorded in {@link #LISTENED_EVENT_TYPES}.
+     * Only changed while holding the lock of {@link #LISTENED_EVENT_TYPES}.
+     */
+    private static boolean trackListeners = true;
+
     /**
      * The NeoForge event bus, used for most events.
      * Also known as the "game" bus.
@@ -18,5 +44,70 @@ public class NeoForge {
         if (IModBusEvent.class.isAssignableFrom(eventType)) {
             throw new IllegalArgumentException("IModBusEvent events are not allowed on the common NeoForge bus! Use a mod bus instead.");
         }
+        synchronized (LISTENED_EVENT_TYPES) {
+            if (!trackListeners) {
+                return;
+            }
+            if (LISTENED_EVENT_TYPES.add(eventType)) {
+                HAS_LISTENERS_CACHE.clear();
+            }
+            listenerGeneration++;
+        }
     }).build();
+
+    /**
+     * Checks whether any listener on the {@link #EVENT_BUS} could receive an event of the given type,
+     * either because it listens to that type or to one of its supertypes.
+     * <p>
+     * This is used to skip creating and posting frequent events that nobody listens to.
+     * The check is conservative: it keeps returning {@code true} after the listeners were unregistered.
+     *
+     * @param eventType the type of the event
+     * @return {@code true} if the event may have listeners
+     */
+    public static boolean hasListeners(Class<? extends Event> eventType) {
+        Boolean cached = HAS_LISTENERS_CACHE.get(eventType);
+        return cached != null ? cached : computeHasListeners(eventType);
+    }
+
+    private static boolean computeHasListeners(Class<?> eventType) {
+        synchronized (LISTENED_EVENT_TYPES) {
+            boolean hasListeners = false;
+            for (Class<?> listenedType : LISTENED_EVENT_TYPES) {
+                if (listenedType.isAssignableFrom(eventType)) {
+                    hasListeners = true;
+                    break;
+                }
+            }
+            HAS_LISTENERS_CACHE.put(eventType, hasListeners);
+            return hasListeners;
+        }
+    }
+
+    /**
+     * Registers a listener on the {@link #EVENT_BUS} that is not taken into account by {@link #hasListeners(Class)}.
+     * <p>
+     * This is used by dispatchers that forward the event to their own listeners, such as {@link net.neoforged.neoforge.event.tick.EntityTickListeners}.
+     * The caller is responsible for posting the event whenever its own listeners need it.
+     */
+    @ApiStatus.Internal
+    public static <T extends Event> void addUntrackedListener(EventPriority priority, Class<T> eventType, Consumer<T> listener) {
+        synchronized (LISTENED_EVENT_TYPES) {
+            trackListeners = false;
+            try {
+                EVENT_BUS.addListener(priority, false, eventType, listener);
+            } finally {
+                trackListeners = true;
+            }
+        }
+    }
+
+    /**
+     * {@return a counter that changes whenever a listener is registered on the {@link #EVENT_BUS}}
+     * Used to invalidate cached event results.
+     */
+    @ApiStatus.Internal
+    public static int getListenerGeneration() {
+        return listenerGeneration;
+    }
 }
@@ -11,6 +11,7 @@ import net.neoforged.fml.event.config.ModConfigEvent;
 import net.neoforged.neoforge.client.ClientHooks;
 import net.neoforged.neoforge.common.ModConfigSpec.BooleanValue;
 import net.neoforged.neoforge.common.ModConfigSpec.ConfigValue;
+import net.neoforged.neoforge.common.ModConfigSpec.IntValue;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.logging.log4j.LogManager;
 
@@ -29,6 +30,10 @@ public class NeoForgeConfig {
 
         public final BooleanValue advertiseDedicatedServerToLan;
 
+        public final BooleanValue cacheCapabilityLookups;
+
+        public final IntValue tickProfilerSamplingInterval;
+
         Server(ModConfigSpec.Builder builder) {
             removeErroringBlockEntities = builder
                     .comment("Set this to true to remove any BlockEntity that throws an error in its update method instead of closing the server and reporting a crash log. BE WARNED THIS COULD SCREW UP EVERYTHING USE SPARINGLY WE ARE NOT RESPONSIBLE FOR DAMAGES.")
@@ -57,6 +62,16 @@ public class NeoForgeConfig {
                     .comment("Set this to true to enable advertising the dedicated server to local LAN clients so that it shows up in the Multiplayer screen automatically.")
                     .translation("neoforge.configgui.advertiseDedicatedServerToLan")
                     .define("advertiseDedicatedServerToLan", true);
+
+            cacheCapabilityLookups = builder
+                    .comment("Set this to true to cache block capability lookups for the duration of a tick. Repeated queries for the same capability, position and context within a tick will be answered from the cache.")
+                    .translation("neoforge.configgui.cacheCapabilityLookups")
+                    .define("cacheCapabilityLookups", false);
+
+            tickProfilerSamplingInterval = builder
+                    .comment("The tick profiler times, on average, one in this many entity and block entity ticks, and reports the results through /neoforge track. The interval is rounded up to a power of two. Set this to 0 to disable the tick profiler.")
+                    .translation("neoforge.configgui.tickProfilerSamplingInterval")
+                    .defineInRange("tickProfilerSamplingInterval", 16, 0, 1024);
         }
     }
 
@@ -9,6 +9,8 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import net.minecraft.core.Registry;
 import net.minecraft.resources.ResourceKey;
 import net.minecraft.resources.ResourceLocation;
@@ -23,6 +25,7 @@ import net.minecraft.world.item.ItemStack;
 import net.neoforged.bus.api.EventPriority;
 import net.neoforged.bus.api.SubscribeEvent;
 import net.neoforged.fml.LogicalSide;
+import net.neoforged.neoforge.common.crafting.CompiledIngredient;
 import net.neoforged.neoforge.common.loot.LootModifierManager;
 import net.neoforged.neoforge.common.util.FakePlayerFactory;
 import net.neoforged.neoforge.common.util.LogicalSidedProvider;
@@ -42,6 +45,7 @@ import net.neoforged.neoforge.registries.RegistryManager;
 import net.neoforged.neoforge.server.command.ConfigCommand;
 import net.neoforged.neoforge.server.command.NeoForgeCommand;
 import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
 
 @ApiStatus.Internal
 public class NeoForgeEventHandler {
@@ -101,6 +105,7 @@ public class NeoForgeEventHandler {
 
     @SubscribeEvent
     public void tagsUpdated(TagsUpdatedEvent event) {
+        CompiledIngredient.invalidateAll();
         if (event.getUpdateCause() == TagsUpdatedEvent.UpdateCause.SERVER_DATA_LOAD) {
             DATA_MAPS.apply();
         }
@@ -108,10 +113,14 @@ public class NeoForgeEventHandler {
 
     @SubscribeEvent
     public void onDpSync(final OnDatapackSyncEvent event) {
+        // When syncing to all players after a reload, they already have the previous data maps and only need the changes
+        final boolean incremental = event.getPlayer() == null;
         RegistryManager.getDataMaps().forEach((registry, values) -> {
             final var regOpt = event.getPlayerList().getServer().overworld().registryAccess()
                     .lookup(registry);
             if (regOpt.isEmpty()) return;
+            // Players usually know the same data maps, so share the payloads (and their encoded form) between them
+            final Map<Set<ResourceLocation>, Optional<RegistryDataMapSyncPayload<?>>> payloads = new HashMap<>();
             event.getRelevantPlayers().forEach(player -> {
                 if (!player.connection.hasChannel(RegistryDataMapSyncPayload.TYPE)) {
                     return;
@@ -122,22 +131,34 @@ public class NeoForgeEventHandler {
                 }
                 final var playerMaps = player.connection.getConnection().channel().attr(RegistryManager.ATTRIBUTE_KNOWN_DATA_MAPS).get();
                 if (playerMaps == null) return; // Skip gametest players for instance
-                handleSync(player, regOpt.get(), playerMaps.getOrDefault(registry, List.of()));
+                payloads.computeIfAbsent(Set.copyOf(playerMaps.getOrDefault(registry, List.of())), attachments -> Optional.ofNullable(createSyncPayload(regOpt.get(), attachments, incremental)))
+                        .ifPresent(payload -> PacketDistributor.sendToPlayer(player, payload));
             });
         });
     }
 
-    private <T> void handleSync(ServerPlayer player, Registry<T> registry, Collection<ResourceLocation> attachments) {
-        if (attachments.isEmpty()) return;
+    @Nullable
+    private <T> RegistryDataMapSyncPayload<T> createSyncPayload(Registry<T> registry, Collection<ResourceLocation> attachments, boolean incremental) {
+        if (attachments.isEmpty()) return null;
+        final Map<ResourceLocation, DataMapLoader.Changes<T>> changes = incremental && DATA_MAPS != null ? DATA_MAPS.getChanges(registry.key()) : null;
         final Map<ResourceLocation, Map<ResourceKey<T>, ?>> att = new HashMap<>();
+        final Map<ResourceLocation, Set<ResourceKey<T>>> removals = new HashMap<>();
         attachments.forEach(key -> {
             final var attach = RegistryManager.getDataMap(registry.key(), key);
             if (attach == null || attach.networkCodec() == null) return;
-            att.put(key, registry.getDataMap(attach));
+            if (changes == null) {
+                att.put(key, registry.getDataMap(attach));
+                return;
+            }
+            final var change = changes.get(key);
+            if (change == null) return;
+            if (!change.changed().isEmpty()) att.put(key, change.changed());
+            if (!change.removed().isEmpty()) removals.put(key, change.removed());
         });
-        if (!att.isEmpty()) {
-            PacketDistributor.sendToPlayer(player, new RegistryDataMapSyncPayload<>(registry.key(), att));
+        if (changes == null) {
+            return att.isEmpty() ? null : new RegistryDataMapSyncPayload<>(registry.key(), att);
         }
+        return att.isEmpty() && removals.isEmpty() ? null : new RegistryDataMapSyncPayload<>(registry.key(), false, att, removals);
     }
 
     @SubscribeEvent
@@ -147,6 +147,7 @@ import net.neoforged.neoforge.server.command.ModIdArgument;
 import net.neoforged.neoforge.server.permission.events.PermissionGatherEvent;
 import net.neoforged.neoforge.server.permission.nodes.PermissionNode;
 import net.neoforged.neoforge.server.permission.nodes.PermissionTypes;
+import net.neoforged.neoforge.server.timings.TickProfiler;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.Marker;
@@ -560,7 +561,10 @@ public class NeoForgeMod {
         // These 3 listeners use the default priority for now, can be re-evaluated later.
         NeoForge.EVENT_BUS.addListener(CapabilityHooks::invalidateCapsOnChunkLoad);
         NeoForge.EVENT_BUS.addListener(CapabilityHooks::invalidateCapsOnChunkUnload);
-        NeoForge.EVENT_BUS.addListener(CapabilityHooks::cleanCapabilityListenerReferencesOnTick);
+        NeoForge.EVENT_BUS.addListener(CapabilityHooks::updateCapabilityListenersOnTick);
+
+        NeoForge.EVENT_BUS.addListener(TickProfiler::onServerTick);
+        NeoForge.EVENT_BUS.addListener(TickProfiler::onServerStopped);
 
         NeoForge.EVENT_BUS.addListener(DataMapHooks::onDataMapsUpdated);
 
@@ -38,13 +38,18 @@ public class BlockTagIngredient implements ICustomIngredient {
 
     @Nullable
     protected HolderSet<Item> items;
+    /**
+     * The {@linkplain CompiledIngredient#currentGeneration() generation} {@link #items} were computed in, to recompute them when tags are reloaded.
+     */
+    private int itemsGeneration;
 
     public BlockTagIngredient(TagKey<Block> tag) {
         this.tag = tag;
     }
 
     protected HolderSet<Item> dissolve() {
-        if (items == null) {
+        int generation = CompiledIngredient.currentGeneration();
+        if (items == null || itemsGeneration != generation) {
             List<Holder<Item>> list = new ArrayList<>();
             for (Holder<Block> block : BuiltInRegistries.BLOCK.getTagOrEmpty(tag)) {
                 var item = block.value().asItem();
@@ -54,6 +59,7 @@ public class BlockTagIngredient implements ICustomIngredient {
             }
 
             items = HolderSet.direct(list);
+            itemsGeneration = generation;
         }
         return items;
     }
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) NeoForged and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.neoforged.neoforge.common.crafting;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import net.minecraft.core.Holder;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * The items of a {@link ICustomIngredient custom ingredient}, compiled into a set of item registry ids.
+ *
+ * <p>If the ingredient {@linkplain ICustomIngredient#isSimple() is simple}, testing a stack only requires checking its item's id.
+ * Since the items of an ingredient may depend on tags, compiled ingredients are {@linkplain #invalidateAll() invalidated} when tags are reloaded.
+ */
+@ApiStatus.Internal
+public final class CompiledIngredient {
+    private static final AtomicInteger GENERATION = new AtomicInteger();
+
+    private final int generation;
+    private final boolean simple;
+    private final List<Holder<Item>> items;
+    private final BitSet itemIds;
+
+    private CompiledIngredient(int generation, boolean simple, List<Holder<Item>> items, BitSet itemIds) {
+        this.generation = generation;
+        this.simple = simple;
+        this.items = items;
+        this.itemIds = itemIds;
+    }
+
+    /**
+     * Compiles the items of the given ingredient.
+     */
+    public static CompiledIngredient compile(ICustomIngredient ingredient) {
+        // Read the generation first, such that an ingredient compiled while tags are reloaded is compiled again
+        int generation = GENERATION.get();
+        List<Holder<Item>> items = ingredient.items().toList();
+        BitSet itemIds = new BitSet();
+        for (Holder<Item> item : items) {
+            int id = BuiltInRegistries.ITEM.getId(item.value());
+            if (id >= 0) {
+                itemIds.set(id);
+            }
+        }
+        return new CompiledIngredient(generation, ingredient.isSimple(), items, itemIds);
+    }
+
+    /**
+     * Invalidates all the compiled ingredients. Called when tags are reloaded.
+     */
+    public static void invalidateAll() {
+        GENERATION.incrementAndGet();
+    }
+
+    /**
+     * {@return the current generation of compiled ingredients, which changes whenever tags are reloaded}
+     */
+    public static int currentGeneration() {
+        return GENERATION.get();
+    }
+
+    /**
+     * {@return whether this was compiled after tags were last reloaded}
+     */
+    public boolean isValid() {
+        return this.generation == GENERATION.get();
+    }
+
+    /**
+     * {@return whether testing a stack only depends on its item}
+     */
+    public boolean isSimple() {
+        return this.simple;
+    }
+
+    public List<Holder<Item>> items() {
+        return this.items;
+    }
+
+    /**
+     * {@return whether the given item is one of the items of the ingredient}
+     */
+    public boolean contains(Item item) {
+        int id = BuiltInRegistries.ITEM.getId(item);
+        return id >= 0 && this.itemIds.get(id);
+    }
+
+    /**
+     * Tests a stack against a {@linkplain #isSimple() simple} ingredient.
+     */
+    public boolean test(ItemStack stack) {
+        return contains(stack.getItem());
+    }
+}
@@ -94,7 +94,7 @@ public interface ILevelExtension {
      */
     @Nullable
     default <T> T getCapability(BlockCapability<T, @Nullable Void> cap, BlockPos pos) {
-        return cap.getCapability(self(), pos, null, null, null);
+        return getCapability(cap, pos, (Void) null);
     }
 
     /**
@@ -122,6 +122,8 @@ public interface ILevelExtension {
      * <p>This method will only do something on {@link ServerLevel}s,
      * but it is safe to call on any {@link Level}, without the need for an {@code instanceof} check.
      *
+     * <p>Listeners are notified at the end of the current level tick, and repeated invalidations are coalesced.
+     *
      * <p>If you already have a block entity at that position, you can call {@link BlockEntity#invalidateCapabilities()} instead.
      */
     default void invalidateCapabilities(BlockPos pos) {}
@@ -132,6 +134,8 @@ public interface ILevelExtension {
      *
      * <p>This method will only do something on {@link ServerLevel}s,
      * but it is safe to call on any {@link Level}, without the need for an {@code instanceof} check.
+     *
+     * <p>Listeners are notified at the end of the current level tick, and repeated invalidations are coalesced.
      */
     default void invalidateCapabilities(ChunkPos pos) {}
 
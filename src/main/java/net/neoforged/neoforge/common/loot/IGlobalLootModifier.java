@@ -10,13 +10,16 @@ import com.mojang.serialization.MapCodec;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
+import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.level.storage.loot.LootContext;
 import net.minecraft.world.level.storage.loot.predicates.LootItemCondition;
 import net.neoforged.neoforge.common.conditions.ConditionalOps;
 import net.neoforged.neoforge.common.conditions.WithConditions;
 import net.neoforged.neoforge.registries.NeoForgeRegistries;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Implementation that defines what a global loot modifier must implement in order to be functional.
@@ -42,6 +45,19 @@ public interface IGlobalLootModifier {
 
     ObjectArrayList<ItemStack> apply(ObjectArrayList<ItemStack> generatedLoot, LootContext context);
 
+    /**
+     * Returns the loot tables this modifier can apply to, or {@code null} if it may apply to any loot table.
+     * <p>
+     * Used to skip the modifier for the other loot tables without calling {@link #apply(ObjectArrayList, LootContext)}.
+     * An empty set means that the modifier never applies.
+     *
+     * @return the IDs of the loot tables this modifier can apply to
+     */
+    @Nullable
+    default Set<ResourceLocation> getTargetLootTables() {
+        return null;
+    }
+
     /**
      * Returns the registered codec for this modifier
      */
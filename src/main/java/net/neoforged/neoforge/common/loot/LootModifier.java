@@ -9,12 +9,15 @@ import com.mojang.datafixers.Products;
 import com.mojang.serialization.codecs.RecordCodecBuilder;
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.function.Predicate;
+import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.level.levelgen.feature.trunkplacers.BendingTrunkPlacer;
 import net.minecraft.world.level.storage.loot.LootContext;
 import net.minecraft.world.level.storage.loot.predicates.AllOfCondition;
 import net.minecraft.world.level.storage.loot.predicates.LootItemCondition;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * A base implementation of a Global Loot Modifier for modders to extend.
@@ -23,6 +26,8 @@ import net.minecraft.world.level.storage.loot.predicates.LootItemCondition;
 public abstract class LootModifier implements IGlobalLootModifier {
     protected final LootItemCondition[] conditions;
     private final Predicate<LootContext> combinedConditions;
+    @Nullable
+    private final Set<ResourceLocation> targetLootTables;
 
     /**
      * Simplifies codec creation, especially if no other fields are added:
@@ -46,6 +51,31 @@ public abstract class LootModifier implements IGlobalLootModifier {
     protected LootModifier(LootItemCondition[] conditionsIn) {
         this.conditions = conditionsIn;
         this.combinedConditions = AllOfCondition.allOf(List.of(conditionsIn));
+        this.targetLootTables = findTargetLootTables(conditionsIn);
+    }
+
+    /**
+     * Finds the loot tables allowed by the top-level {@link LootTableIdCondition}s, which must all match.
+     */
+    @Nullable
+    private static Set<ResourceLocation> findTargetLootTables(LootItemCondition[] conditions) {
+        ResourceLocation target = null;
+        for (LootItemCondition condition : conditions) {
+            if (condition instanceof LootTableIdCondition idCondition) {
+                if (target != null && !target.equals(idCondition.getTargetLootTableId())) {
+                    // Conditions on different loot tables can never match together
+                    return Set.of();
+                }
+                target = idCondition.getTargetLootTableId();
+            }
+        }
+        return target == null ? null : Set.of(target);
+    }
+
+    @Nullable
+    @Override
+    public Set<ResourceLocation> getTargetLootTables() {
+        return this.targetLootTables;
     }
 
     @Override
@@ -20,6 +20,7 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Function;
 import net.minecraft.resources.FileToIdConverter;
 import net.minecraft.resources.ResourceLocation;
@@ -37,6 +38,14 @@ public class LootModifierManager extends SimpleJsonResourceReloadListener<JsonEl
     public static final Logger LOGGER = LogManager.getLogger();
 
     private Map<ResourceLocation, IGlobalLootModifier> registeredLootModifiers = ImmutableMap.of();
+    /**
+     * The modifiers that may apply to each loot table, in layered order.
+     */
+    private Map<ResourceLocation, List<IGlobalLootModifier>> lootModsByTable = Map.of();
+    /**
+     * The modifiers that may apply to any loot table, in layered order.
+     */
+    private List<IGlobalLootModifier> untargetedLootMods = List.of();
     private static final String folder = "loot_modifiers";
 
     public LootModifierManager() {
@@ -88,6 +97,27 @@ public class LootModifierManager extends SimpleJsonResourceReloadListener<JsonEl
                     .ifPresent(carrier -> builder.put(location, carrier.carrier()));
         }
         this.registeredLootModifiers = builder.build();
+        this.buildIndex();
+    }
+
+    private void buildIndex() {
+        List<IGlobalLootModifier> untargeted = new ArrayList<>();
+        Map<ResourceLocation, List<IGlobalLootModifier>> byTable = new HashMap<>();
+        for (IGlobalLootModifier modifier : this.registeredLootModifiers.values()) {
+            Set<ResourceLocation> targets = modifier.getTargetLootTables();
+            if (targets == null) {
+                untargeted.add(modifier);
+                byTable.values().forEach(modifiers -> modifiers.add(modifier));
+            } else {
+                // Untargeted modifiers preceding this one apply to the loot table too
+                targets.forEach(target -> byTable.computeIfAbsent(target, $ -> new ArrayList<>(untargeted)).add(modifier));
+            }
+        }
+
+        Map<ResourceLocation, List<IGlobalLootModifier>> index = new HashMap<>(byTable.size());
+        byTable.forEach((table, modifiers) -> index.put(table, List.copyOf(modifiers)));
+        this.lootModsByTable = index;
+        this.untargetedLootMods = List.copyOf(untargeted);
     }
 
     /**
@@ -96,4 +126,14 @@ public class LootModifierManager extends SimpleJsonResourceReloadListener<JsonEl
     public Collection<IGlobalLootModifier> getAllLootMods() {
         return registeredLootModifiers.values();
     }
+
+    /**
+     * An immutable list of the registered loot modifiers that may apply to the given loot table, in layered order.
+     * Modifiers must still be {@linkplain IGlobalLootModifier#apply applied} to check their conditions.
+     *
+     * @see IGlobalLootModifier#getTargetLootTables()
+     */
+    public List<IGlobalLootModifier> getLootModsFor(ResourceLocation lootTableId) {
+        return lootModsByTable.getOrDefault(lootTableId, untargetedLootMods);
+    }
 }
@@ -28,6 +28,13 @@ public class LootTableIdCondition implements LootItemCondition {
         this.targetLootTableId = targetLootTableId;
     }
 
+    /**
+     * {@return the ID of the loot table this condition matches}
+     */
+    public ResourceLocation getTargetLootTableId() {
+        return this.targetLootTableId;
+    }
+
     @Override
     public LootItemConditionType getType() {
         return LOOT_TABLE_ID;
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) NeoForged and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.neoforged.neoforge.common.util;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import net.minecraft.core.Direction;
+
+/**
+ * Pre-computed immutable sets of {@link Direction}s, for use in hot paths that would otherwise allocate a new {@link EnumSet} for every call.
+ */
+public final class DirectionSets {
+    /**
+     * The set of all six directions.
+     */
+    public static final Set<Direction> ALL = Collections.unmodifiableSet(EnumSet.allOf(Direction.class));
+
+    private static final Set<Direction>[] ONLY = computeSets(false);
+    private static final Set<Direction>[] ALL_EXCEPT = computeSets(true);
+
+    private DirectionSets() {}
+
+    /**
+     * {@return the set containing only the given direction}
+     */
+    public static Set<Direction> only(Direction direction) {
+        return ONLY[direction.ordinal()];
+    }
+
+    /**
+     * {@return the set containing all directions except the given one}
+     */
+    public static Set<Direction> allExcept(Direction direction) {
+        return ALL_EXCEPT[direction.ordinal()];
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Set<Direction>[] computeSets(boolean complement) {
+        Direction[] directions = Direction.values();
+        Set<Direction>[] sets = new Set[directions.length];
+        for (Direction direction : directions) {
+            EnumSet<Direction> set = EnumSet.of(direction);
+            sets[direction.ordinal()] = Collections.unmodifiableSet(complement ? EnumSet.complementOf(set) : set);
+        }
+        return sets;
+    }
+}
@@ -6,14 +6,13 @@
 package net.neoforged.neoforge.common.util;
 
 import java.util.Arrays;
-import java.util.BitSet;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.Queue;
 import java.util.function.Predicate;
 import org.jetbrains.annotations.Nullable;
 
 public class RecipeMatcher {
+    private static final int UNREACHED = Integer.MAX_VALUE;
+
     /**
      * Attempts to match inputs to the specified tests. In the best way that all inputs are used by one test.
      * Will return null in any of these cases:
@@ -22,6 +21,9 @@ public class RecipeMatcher {
      * any test doesn't match a input
      * If we are unable to determine a proper pair
      *
+     * <p>The inputs are matched to the tests by finding a maximum bipartite matching with the Hopcroft-Karp algorithm,
+     * which takes polynomial time regardless of how the tests overlap.
+     *
      * @return An array mapping inputs to tests. ret[x] = y means input[x] = test[y]
      */
     public static <T> int @Nullable [] findMatches(List<T> inputs, List<? extends Predicate<T>> tests) {
@@ -29,108 +31,120 @@ public class RecipeMatcher {
         if (elements != tests.size())
             return null; // There will not be a 1:1 mapping of inputs -> tests
 
-        int[] ret = new int[elements];
-        Arrays.fill(ret, -1);
-
-        // [UnusedInputs] [UnusedIngredients] [IngredientMatchMask]...
-        BitSet data = new BitSet((elements + 2) * elements);
+        // adjacency[x] contains the tests matched by input x
+        int[][] adjacency = new int[elements][];
+        int[] inputsPerTest = new int[elements];
+        int[] buffer = new int[elements];
+        boolean disjoint = true;
         for (int x = 0; x < elements; x++) {
+            T input = inputs.get(x);
             int matched = 0;
-            int offset = (x + 2) * elements;
-            Predicate<T> test = tests.get(x);
-
             for (int y = 0; y < elements; y++) {
-                if (data.get(y))
-                    continue;
-
-                if (test.test(inputs.get(y))) {
-                    data.set(offset + y);
-                    matched++;
+                if (tests.get(y).test(input)) {
+                    buffer[matched++] = y;
+                    inputsPerTest[y]++;
                 }
             }
 
             if (matched == 0)
-                return null; //We have an test that matched non of the inputs
+                return null; // We have an input that matched none of the tests
 
-            if (matched == 1) {
-                if (!claim(ret, data, x, elements))
-                    return null; //We failed to claim this index, which means it caused something else to go to 0 matches, which makes the whole thing fail
-            }
+            disjoint &= matched == 1;
+            adjacency[x] = Arrays.copyOf(buffer, matched);
         }
 
-        if (data.nextClearBit(0) >= elements) //All items have been used, which means all tests have a match!
-            return ret;
+        for (int count : inputsPerTest) {
+            if (count == 0)
+                return null; // We have a test that matched none of the inputs
+        }
 
-        // We should be in a state where multiple tests are satified by multiple inputs. So we need to try a branching recursive test.
-        // However for performance reasons, we should probably make that check a sub-set of the entire graph.
-        if (backtrack(data, ret, 0, elements))
+        int[] ret = new int[elements];
+        if (disjoint) {
+            // Every input matches a single test and every test matches an input,
+            // so since there are as many inputs as tests, each test matches exactly one input
+            for (int x = 0; x < elements; x++)
+                ret[x] = adjacency[x][0];
             return ret;
+        }
 
-        return null; //Backtrack failed, no matches, we cry and go home now :(
-    }
-
-    // This is bad... need to think of a better cascade, recursion instead of stack?
-    private static boolean claim(int[] ret, BitSet data, int claimed, int elements) {
-        Queue<Integer> pending = new LinkedList<Integer>();
-        pending.add(claimed);
-
-        while (pending.peek() != null) {
-            int test = pending.poll();
-            int offset = (test + 2) * elements;
-            int used = data.nextSetBit(offset) - offset;
-
-            if (used >= elements || used < 0)
-                throw new IllegalStateException("What? We matched something, but it wasn't set in the range of this test! Test: " + test + " Used: " + used);
+        Arrays.fill(ret, -1);
+        int[] testMatches = new int[elements];
+        Arrays.fill(testMatches, -1);
 
-            data.set(used);
-            data.set(elements + test);
-            ret[used] = test;
+        // Greedily match what we can first, leaving less work for the augmenting paths
+        int matched = 0;
+        for (int x = 0; x < elements; x++) {
+            for (int y : adjacency[x]) {
+                if (testMatches[y] == -1) {
+                    ret[x] = y;
+                    testMatches[y] = x;
+                    matched++;
+                    break;
+                }
+            }
+        }
 
+        int[] distances = new int[elements];
+        int[] queue = new int[elements];
+        while (matched < elements && findAugmentingPaths(adjacency, ret, testMatches, distances, queue)) {
             for (int x = 0; x < elements; x++) {
-                offset = (x + 2) * elements;
-                if (data.get(offset + used) && !data.get(elements + x)) {
-                    data.clear(offset + used);
-                    int count = 0;
-                    for (int y = offset; y < offset + elements; y++)
-                        if (data.get(y))
-                            count++;
-
-                    if (count == 0)
-                        return false; //Claiming this caused another test to lose its last match..
-
-                    if (count == 1)
-                        pending.add(x);
-                }
+                if (ret[x] == -1 && augment(x, adjacency, ret, testMatches, distances))
+                    matched++;
             }
         }
 
-        return true;
+        return matched == elements ? ret : null;
     }
 
-    //We use recursion here, why? Because I feel like it. Also because we should only ever be working in data sets < 9
-    private static boolean backtrack(BitSet data, int[] ret, int start, int elements) {
-        int test = data.nextClearBit(elements + start) - elements;
-        if (test >= elements)
-            return true; //Could not find the next unused test.
-
-        if (test < 0)
-            throw new IllegalStateException("This should never happen, negative test in backtrack!");
-
-        int offset = (test + 2) * elements;
-        for (int x = 0; x < elements; x++) {
-            if (!data.get(offset + x) || data.get(x))
-                continue;
+    /**
+     * Computes the distance of each input from the unmatched inputs, alternating between unmatched and matched edges.
+     *
+     * @return whether an unmatched test can be reached, meaning that the matching can be extended
+     */
+    private static boolean findAugmentingPaths(int[][] adjacency, int[] inputMatches, int[] testMatches, int[] distances, int[] queue) {
+        int head = 0;
+        int tail = 0;
+        for (int x = 0; x < inputMatches.length; x++) {
+            if (inputMatches[x] == -1) {
+                distances[x] = 0;
+                queue[tail++] = x;
+            } else {
+                distances[x] = UNREACHED;
+            }
+        }
 
-            data.set(x);
+        boolean found = false;
+        while (head < tail) {
+            int x = queue[head++];
+            for (int y : adjacency[x]) {
+                int next = testMatches[y];
+                if (next == -1) {
+                    found = true;
+                } else if (distances[next] == UNREACHED) {
+                    distances[next] = distances[x] + 1;
+                    queue[tail++] = next;
+                }
+            }
+        }
+        return found;
+    }
 
-            if (backtrack(data, ret, test + 1, elements)) {
-                ret[x] = test;
+    /**
+     * Tries to match the given input by following the layers computed by {@link #findAugmentingPaths}.
+     * The depth of the recursion is bounded by the number of inputs.
+     */
+    private static boolean augment(int x, int[][] adjacency, int[] inputMatches, int[] testMatches, int[] distances) {
+        for (int y : adjacency[x]) {
+            int next = testMatches[y];
+            if (next == -1 || (distances[next] == distances[x] + 1 && augment(next, adjacency, inputMatches, testMatches, distances))) {
+                inputMatches[x] = y;
+                testMatches[y] = x;
                 return true;
             }
-
-            data.clear(x);
         }
 
+        // No augmenting path goes through this input in the current phase
+        distances[x] = UNREACHED;
         return false;
     }
 }
@@ -15,6 +15,7 @@ import net.minecraft.resources.RegistryFileCodec;
 import net.minecraft.resources.RegistryOps;
 import net.minecraft.world.level.biome.Biome;
 import net.neoforged.neoforge.registries.NeoForgeRegistries;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * JSON-serializable biome modifier.
@@ -63,6 +64,23 @@ public interface BiomeModifier {
      */
     void modify(Holder<Biome> biome, Phase phase, ModifiableBiomeInfo.BiomeInfo.Builder builder);
 
+    /**
+     * {@return the biomes this modifier may modify, or {@code null} if it may modify any biome}
+     * When not {@code null}, the modifier will not be called for biomes outside of this set.
+     */
+    @Nullable
+    default HolderSet<Biome> targetBiomes() {
+        return null;
+    }
+
+    /**
+     * {@return whether this modifier can be applied to several biomes concurrently}
+     * Thread-safe modifiers must only modify the provided builder, and not rely on any other mutable state.
+     */
+    default boolean isThreadSafe() {
+        return false;
+    }
+
     /**
      * @return the codec which serializes and deserializes this biome modifier
      */
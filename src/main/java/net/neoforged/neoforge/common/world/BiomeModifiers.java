@@ -53,6 +53,16 @@ public final class BiomeModifiers {
             }
         }
 
+        @Override
+        public HolderSet<Biome> targetBiomes() {
+            return this.biomes;
+        }
+
+        @Override
+        public boolean isThreadSafe() {
+            return true;
+        }
+
         @Override
         public MapCodec<? extends BiomeModifier> codec() {
             return NeoForgeMod.ADD_FEATURES_BIOME_MODIFIER_TYPE.get();
@@ -97,6 +107,16 @@ public final class BiomeModifiers {
             }
         }
 
+        @Override
+        public HolderSet<Biome> targetBiomes() {
+            return this.biomes;
+        }
+
+        @Override
+        public boolean isThreadSafe() {
+            return true;
+        }
+
         @Override
         public MapCodec<? extends BiomeModifier> codec() {
             return NeoForgeMod.REMOVE_FEATURES_BIOME_MODIFIER_TYPE.get();
@@ -167,6 +187,16 @@ public final class BiomeModifiers {
             }
         }
 
+        @Override
+        public HolderSet<Biome> targetBiomes() {
+            return this.biomes;
+        }
+
+        @Override
+        public boolean isThreadSafe() {
+            return true;
+        }
+
         @Override
         public MapCodec<? extends BiomeModifier> codec() {
             return NeoForgeMod.ADD_SPAWNS_BIOME_MODIFIER_TYPE.get();
@@ -200,6 +230,16 @@ public final class BiomeModifiers {
             }
         }
 
+        @Override
+        public HolderSet<Biome> targetBiomes() {
+            return this.biomes;
+        }
+
+        @Override
+        public boolean isThreadSafe() {
+            return true;
+        }
+
         @Override
         public MapCodec<? extends BiomeModifier> codec() {
             return NeoForgeMod.REMOVE_SPAWNS_BIOME_MODIFIER_TYPE.get();
@@ -230,6 +270,16 @@ public final class BiomeModifiers {
             }
         }
 
+        @Override
+        public HolderSet<Biome> targetBiomes() {
+            return this.biomes;
+        }
+
+        @Override
+        public boolean isThreadSafe() {
+            return true;
+        }
+
         @Override
         public MapCodec<? extends BiomeModifier> codec() {
             return NeoForgeMod.ADD_CARVERS_BIOME_MODIFIER_TYPE.get();
@@ -260,6 +310,16 @@ public final class BiomeModifiers {
             }
         }
 
+        @Override
+        public HolderSet<Biome> targetBiomes() {
+            return this.biomes;
+        }
+
+        @Override
+        public boolean isThreadSafe() {
+            return true;
+        }
+
         @Override
         public MapCodec<? extends BiomeModifier> codec() {
             return NeoForgeMod.REMOVE_CARVERS_BIOME_MODIFIER_TYPE.get();
@@ -297,6 +357,16 @@ public final class BiomeModifiers {
             }
         }
 
+        @Override
+        public HolderSet<Biome> targetBiomes() {
+            return this.biomes;
+        }
+
+        @Override
+        public boolean isThreadSafe() {
+            return true;
+        }
+
         @Override
         public MapCodec<? extends BiomeModifier> codec() {
             return NeoForgeMod.ADD_SPAWN_COSTS_BIOME_MODIFIER_TYPE.get();
@@ -329,6 +399,16 @@ public final class BiomeModifiers {
             }
         }
 
+        @Override
+        public HolderSet<Biome> targetBiomes() {
+            return this.biomes;
+        }
+
+        @Override
+        public boolean isThreadSafe() {
+            return true;
+        }
+
         @Override
         public MapCodec<? extends BiomeModifier> codec() {
             return NeoForgeMod.REMOVE_SPAWN_COSTS_BIOME_MODIFIER_TYPE.get();
@@ -5,19 +5,23 @@
 
 package net.neoforged.neoforge.common.world;
 
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
 import java.util.List;
-import java.util.Map;
-import java.util.Objects;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.HolderLookup;
+import net.minecraft.core.SectionPos;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.ListTag;
 import net.minecraft.network.protocol.Packet;
 import net.minecraft.network.protocol.common.ClientboundCustomPayloadPacket;
 import net.minecraft.network.protocol.game.ClientboundBundlePacket;
 import net.minecraft.network.protocol.game.ClientboundLevelChunkWithLightPacket;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.util.Mth;
+import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.level.chunk.LevelChunk;
 import net.minecraft.world.level.lighting.LightEngine;
 import net.neoforged.neoforge.common.util.INBTSerializable;
@@ -25,71 +29,224 @@ import net.neoforged.neoforge.network.payload.AuxiliaryLightDataPayload;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
 
+/**
+ * Stores the auxiliary light values of a chunk as one nibble per block, in arrays allocated per section on demand.
+ *
+ * <p>Writes are synchronized, while reads are lock-free so that the light engine can query values from its worker threads.
+ * On the server, changed positions are recorded and sent to the players tracking the chunk at the end of the level tick.
+ */
 @ApiStatus.Internal
 public final class LevelChunkAuxiliaryLightManager implements AuxiliaryLightManager, INBTSerializable<ListTag> {
     public static final String LIGHT_NBT_KEY = "neoforge:aux_lights";
+    private static final int SECTION_BYTES = SectionPos.SECTION_SIZE * SectionPos.SECTION_SIZE * SectionPos.SECTION_SIZE / 2;
 
     private final LevelChunk owner;
-    private final Map<BlockPos, Byte> lights = new ConcurrentHashMap<>();
+    /**
+     * The packed light values of each section, or {@code null} for sections without any light.
+     */
+    private final AtomicReferenceArray<byte[]> sections;
+    /**
+     * The number of non-zero light values of each section, guarded by {@code this}.
+     */
+    private final int[] sectionCounts;
+    /**
+     * The positions whose light value changed since the last {@linkplain #broadcastChanges(List) broadcast}, guarded by {@code this}.
+     */
+    private final LongSet changedPositions = new LongOpenHashSet();
 
     public LevelChunkAuxiliaryLightManager(LevelChunk owner) {
         this.owner = owner;
+        this.sections = new AtomicReferenceArray<>(owner.getSectionsCount());
+        this.sectionCounts = new int[owner.getSectionsCount()];
+    }
+
+    public ChunkPos getPos() {
+        return this.owner.getPos();
     }
 
     @Override
     public void setLightAt(BlockPos pos, int value) {
-        pos = pos.immutable();
         value = Mth.clamp(value, 0, LightEngine.MAX_LEVEL);
 
-        Byte oldValue;
-        if (value > 0) {
-            oldValue = lights.put(pos, (byte) value);
-        } else {
-            oldValue = lights.remove(pos);
+        boolean firstChange;
+        synchronized (this) {
+            if (this.putLight(pos, value) == value) {
+                return;
+            }
+
+            firstChange = this.changedPositions.isEmpty();
+            if (this.owner.getLevel() instanceof ServerLevel) {
+                this.changedPositions.add(pos.asLong());
+            }
         }
-        if (Objects.requireNonNullElse(oldValue, (byte) 0) != value) {
-            owner.getLevel().getChunkSource().getLightEngine().checkBlock(pos);
-            owner.markUnsaved();
+
+        if (firstChange && this.owner.getLevel() instanceof ServerLevel serverLevel) {
+            serverLevel.getChunkSource().chunkMap.markAuxLightChanged(this);
         }
+        owner.getLevel().getChunkSource().getLightEngine().checkBlock(pos.immutable());
+        owner.markUnsaved();
     }
 
     @Override
     public int getLightAt(BlockPos pos) {
-        return lights.getOrDefault(pos, (byte) 0);
+        int sectionIndex = this.owner.getSectionIndex(pos.getY());
+        if (sectionIndex < 0 || sectionIndex >= this.sectionCounts.length) {
+            return 0;
+        }
+
+        byte[] section = this.sections.get(sectionIndex);
+        return section == null ? 0 : get(section, getIndex(pos.getX(), pos.getY(), pos.getZ()));
+    }
+
+    /**
+     * Sets the light value at the given position, without notifying the light engine.
+     *
+     * @return the previous light value
+     */
+    private synchronized int putLight(BlockPos pos, int value) {
+        int sectionIndex = this.owner.getSectionIndex(pos.getY());
+        if (sectionIndex < 0 || sectionIndex >= this.sectionCounts.length) {
+            return value;
+        }
+
+        byte[] section = this.sections.get(sectionIndex);
+        if (section == null) {
+            if (value == 0) {
+                return 0;
+            }
+            section = new byte[SECTION_BYTES];
+            this.sections.set(sectionIndex, section);
+        }
+
+        int index = getIndex(pos.getX(), pos.getY(), pos.getZ());
+        int oldValue = get(section, index);
+        if (oldValue == value) {
+            return oldValue;
+        }
+
+        set(section, index, value);
+        if (oldValue == 0) {
+            this.sectionCounts[sectionIndex]++;
+        } else if (value == 0 && --this.sectionCounts[sectionIndex] == 0) {
+            this.sections.set(sectionIndex, null);
+        }
+        return oldValue;
+    }
+
+    private synchronized void clear() {
+        for (int i = 0; i < this.sectionCounts.length; i++) {
+            this.sections.set(i, null);
+            this.sectionCounts[i] = 0;
+        }
+    }
+
+    private static int getIndex(int x, int y, int z) {
+        return (y & 15) << 8 | (z & 15) << 4 | (x & 15);
+    }
+
+    private static int get(byte[] section, int index) {
+        return section[index >> 1] >> ((index & 1) << 2) & 15;
+    }
+
+    private static void set(byte[] section, int index, int value) {
+        int shift = (index & 1) << 2;
+        section[index >> 1] = (byte) (section[index >> 1] & ~(15 << shift) | value << shift);
+    }
+
+    /**
+     * Calls the given consumer for every position with a non-zero light value.
+     */
+    private synchronized void forEachLight(LightConsumer consumer) {
+        ChunkPos chunkPos = this.owner.getPos();
+        for (int sectionIndex = 0; sectionIndex < this.sectionCounts.length; sectionIndex++) {
+            byte[] section = this.sections.get(sectionIndex);
+            if (section == null) {
+                continue;
+            }
+
+            int minY = SectionPos.sectionToBlockCoord(this.owner.getSectionYFromSectionIndex(sectionIndex));
+            for (int index = 0; index < SectionPos.SECTION_SIZE * SectionPos.SECTION_SIZE * SectionPos.SECTION_SIZE; index++) {
+                int light = get(section, index);
+                if (light != 0) {
+                    consumer.accept(chunkPos.getBlockX(index & 15), minY + (index >> 8), chunkPos.getBlockZ(index >> 4 & 15), light);
+                }
+            }
+        }
     }
 
     @Nullable
     @Override
     public ListTag serializeNBT(HolderLookup.Provider provider) {
-        if (lights.isEmpty()) {
-            return null;
-        }
-
         ListTag list = new ListTag();
-        lights.forEach((pos, light) -> {
+        forEachLight((x, y, z, light) -> {
             CompoundTag tag = new CompoundTag();
-            tag.putLong("pos", pos.asLong());
-            tag.putByte("level", light);
+            tag.putLong("pos", BlockPos.asLong(x, y, z));
+            tag.putByte("level", (byte) light);
             list.add(tag);
         });
-        return list;
+        return list.isEmpty() ? null : list;
     }
 
     @Override
     public void deserializeNBT(HolderLookup.Provider provider, ListTag list) {
         for (int i = 0; i < list.size(); i++) {
             CompoundTag tag = list.getCompound(i);
-            lights.put(BlockPos.of(tag.getLong("pos")), tag.getByte("level"));
+            putLight(BlockPos.of(tag.getLong("pos")), Mth.clamp(tag.getByte("level"), 0, LightEngine.MAX_LEVEL));
         }
     }
 
     public Packet<?> sendLightDataTo(ClientboundLevelChunkWithLightPacket chunkPacket) {
-        return new ClientboundBundlePacket(List.of(chunkPacket, new ClientboundCustomPayloadPacket(
-                new AuxiliaryLightDataPayload(owner.getPos(), Map.copyOf(lights)))));
+        AuxiliaryLightDataPayload.Builder builder = new AuxiliaryLightDataPayload.Builder(owner.getPos(), true);
+        forEachLight(builder::add);
+        return new ClientboundBundlePacket(List.of(chunkPacket, new ClientboundCustomPayloadPacket(builder.build())));
+    }
+
+    /**
+     * Sends the light values that changed since the last call to the given players.
+     */
+    public void broadcastChanges(List<ServerPlayer> players) {
+        AuxiliaryLightDataPayload.Builder builder = new AuxiliaryLightDataPayload.Builder(owner.getPos(), false);
+        synchronized (this) {
+            if (this.changedPositions.isEmpty()) {
+                return;
+            }
+
+            if (!players.isEmpty()) {
+                BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+                for (long changed : this.changedPositions) {
+                    pos.set(changed);
+                    builder.add(pos.getX(), pos.getY(), pos.getZ(), getLightAt(pos));
+                }
+            }
+            this.changedPositions.clear();
+        }
+
+        if (!players.isEmpty()) {
+            Packet<?> packet = new ClientboundCustomPayloadPacket(builder.build());
+            for (ServerPlayer player : players) {
+                player.connection.send(packet);
+            }
+        }
+    }
+
+    public void handleLightDataSync(AuxiliaryLightDataPayload payload) {
+        if (payload.replace()) {
+            clear();
+            BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+            for (int i = 0; i < payload.positions().length; i++) {
+                putLight(payload.getPos(i, pos), Mth.clamp(payload.levels()[i], 0, LightEngine.MAX_LEVEL));
+            }
+        } else {
+            // Incremental changes arrive after the chunk was lit, so let the light engine know about them
+            BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+            for (int i = 0; i < payload.positions().length; i++) {
+                setLightAt(payload.getPos(i, pos), payload.levels()[i]);
+            }
+        }
     }
 
-    public void handleLightDataSync(Map<BlockPos, Byte> lights) {
-        this.lights.clear();
-        this.lights.putAll(lights);
+    @FunctionalInterface
+    private interface LightConsumer {
+        void accept(int x, int y, int z, int light);
     }
 }
@@ -86,6 +86,37 @@ public class ModifiableBiomeInfo {
                 modifier.modify(biome, phase, builder);
             }
         }
+        return this.setModifiedBiomeInfo(biome, builder, registryAccess);
+    }
+
+    /**
+     * Internal NeoForge method. Will do nothing if this modifier had already been applied.
+     * Creates and caches the modified biome info, only applying the modifiers indexed for the biome.
+     * May be called concurrently for different biomes if their modifiers are {@linkplain BiomeModifier#isThreadSafe() thread-safe}.
+     *
+     * @param biome          named biome with original data.
+     * @param biomeModifiers index of the biome modifiers to apply.
+     *
+     * @return whether the biome's network-synced data was modified
+     */
+    @ApiStatus.Internal
+    public boolean applyBiomeModifiers(final Holder<Biome> biome, final ModifierIndex<Biome, BiomeModifier> biomeModifiers, RegistryAccess registryAccess) {
+        if (this.modifiedBiomeInfo != null)
+            return true;
+
+        final int[] modifiers = biomeModifiers.getModifiers(biome);
+        final BiomeInfo.Builder builder = BiomeInfo.Builder.copyOf(this.getOriginalBiomeInfo());
+        for (BiomeModifier.Phase phase : BiomeModifier.Phase.values()) {
+            for (int modifier : modifiers) {
+                long start = System.nanoTime();
+                biomeModifiers.getModifier(modifier).modify(biome, phase, builder);
+                biomeModifiers.addTime(modifier, System.nanoTime() - start);
+            }
+        }
+        return this.setModifiedBiomeInfo(biome, builder, registryAccess);
+    }
+
+    private boolean setModifiedBiomeInfo(final Holder<Biome> biome, final BiomeInfo.Builder builder, RegistryAccess registryAccess) {
         DynamicOps<JsonElement> ops = RegistryOps.create(JsonOps.INSTANCE, registryAccess);
         JsonElement originalJson = Biome.NETWORK_CODEC.encodeStart(ops, biome.value()).result().orElse(null);
         this.modifiedBiomeInfo = builder.build();
@@ -75,6 +75,31 @@ public class ModifiableStructureInfo {
         this.modifiedStructureInfo = builder.build();
     }
 
+    /**
+     * Internal NeoForge method. Will do nothing if this modifier had already been applied.
+     * Creates and caches the modified structure info, only applying the modifiers indexed for the structure.
+     * May be called concurrently for different structures if their modifiers are {@linkplain StructureModifier#isThreadSafe() thread-safe}.
+     *
+     * @param structure          named structure with original data.
+     * @param structureModifiers index of the structure modifiers to apply.
+     */
+    @ApiStatus.Internal
+    public void applyStructureModifiers(final Holder<Structure> structure, final ModifierIndex<Structure, StructureModifier> structureModifiers) {
+        if (this.modifiedStructureInfo != null)
+            return;
+
+        final int[] modifiers = structureModifiers.getModifiers(structure);
+        final StructureInfo.Builder builder = StructureInfo.Builder.copyOf(this.getOriginalStructureInfo());
+        for (StructureModifier.Phase phase : StructureModifier.Phase.values()) {
+            for (int modifier : modifiers) {
+                long start = System.nanoTime();
+                structureModifiers.getModifier(modifier).modify(structure, phase, builder);
+                structureModifiers.addTime(modifier, System.nanoTime() - start);
+            }
+        }
+        this.modifiedStructureInfo = builder.build();
+    }
+
     /**
      * Record containing raw structure data.
      * 
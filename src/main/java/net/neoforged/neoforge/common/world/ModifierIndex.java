@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) NeoForged and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.neoforged.neoforge.common.world;
+
+import com.mojang.logging.LogUtils;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import net.minecraft.Util;
+import net.minecraft.core.Holder;
+import net.minecraft.core.HolderSet;
+import net.minecraft.resources.ResourceKey;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+
+/**
+ * Index of the {@linkplain BiomeModifier biome} or {@linkplain StructureModifier structure} modifiers that may modify each element of a registry.
+ *
+ * <p>Modifiers declaring their targets are only applied to these targets, while the other modifiers are applied to every element.
+ * The modifiers of an element are always applied in the order they were loaded in.
+ * The time spent in each modifier is recorded, and can be {@linkplain #logTimings(String, long) logged} once all elements were modified.
+ *
+ * @param <T> the type of the modified elements
+ * @param <M> the type of the modifiers
+ */
+@ApiStatus.Internal
+public final class ModifierIndex<T, M> {
+    private static final Logger LOGGER = LogUtils.getLogger();
+    private static final int[] NO_MODIFIERS = new int[0];
+
+    private final List<Holder.Reference<M>> modifiers;
+    private final boolean[] threadSafe;
+    private final int[] untargeted;
+    private final Map<ResourceKey<T>, int[]> byTarget;
+    private final AtomicLongArray nanos;
+
+    /**
+     * @param modifiers  the modifiers, in the order they were loaded in
+     * @param targets    the elements each modifier may modify, or {@code null} if it may modify any element
+     * @param threadSafe whether a modifier can be applied to several elements concurrently
+     */
+    public ModifierIndex(List<Holder.Reference<M>> modifiers, Function<M, @Nullable HolderSet<T>> targets, Predicate<M> threadSafe) {
+        this.modifiers = modifiers;
+        this.threadSafe = new boolean[modifiers.size()];
+        this.nanos = new AtomicLongArray(modifiers.size());
+
+        final IntArrayList untargeted = new IntArrayList();
+        final Map<ResourceKey<T>, IntArrayList> byTarget = new HashMap<>();
+        for (int i = 0; i < modifiers.size(); i++) {
+            final M modifier = modifiers.get(i).value();
+            this.threadSafe[i] = threadSafe.test(modifier);
+
+            final HolderSet<T> targetSet = targets.apply(modifier);
+            if (targetSet == null) {
+                untargeted.add(i);
+                for (IntArrayList targetModifiers : byTarget.values()) {
+                    targetModifiers.add(i);
+                }
+                continue;
+            }
+
+            for (Holder<T> target : targetSet) {
+                final var key = target.unwrapKey();
+                if (key.isEmpty()) {
+                    continue;
+                }
+
+                // Untargeted modifiers that were loaded before this one apply to the target as well
+                final IntArrayList targetModifiers = byTarget.computeIfAbsent(key.get(), k -> new IntArrayList(untargeted));
+                // Holder sets may contain the same element several times
+                if (targetModifiers.isEmpty() || targetModifiers.getInt(targetModifiers.size() - 1) != i) {
+                    targetModifiers.add(i);
+                }
+            }
+        }
+
+        this.untargeted = untargeted.isEmpty() ? NO_MODIFIERS : untargeted.toIntArray();
+        this.byTarget = new HashMap<>(byTarget.size());
+        byTarget.forEach((key, targetModifiers) -> this.byTarget.put(key, targetModifiers.toIntArray()));
+    }
+
+    /**
+     * {@return the indices of the modifiers that may modify the given element, in the order they must be applied in}
+     */
+    public int[] getModifiers(Holder<T> target) {
+        final var key = target.unwrapKey();
+        if (key.isEmpty()) {
+            return this.untargeted;
+        }
+        return this.byTarget.getOrDefault(key.get(), this.untargeted);
+    }
+
+    public M getModifier(int index) {
+        return this.modifiers.get(index).value();
+    }
+
+    /**
+     * Records time spent applying the modifier with the given index.
+     */
+    public void addTime(int index, long nanos) {
+        this.nanos.addAndGet(index, nanos);
+    }
+
+    /**
+     * {@return whether all the modifiers of the given element can be applied concurrently with the modifiers of other elements}
+     */
+    public boolean isThreadSafe(Holder<T> target) {
+        for (int modifier : this.getModifiers(target)) {
+            if (!this.threadSafe[modifier]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Runs the given action for each target.
+     * Targets whose modifiers are all {@linkplain #isThreadSafe(Holder) thread-safe} are processed in parallel first,
+     * and the remaining targets are then processed serially on the calling thread.
+     *
+     * @param action the action to run, receiving the target and its index in the list
+     */
+    public <H extends Holder<T>> void forEachTarget(List<H> targets, ObjIntConsumer<H> action) {
+        final List<CompletableFuture<Void>> futures = new ArrayList<>();
+        final IntArrayList serial = new IntArrayList();
+        for (int i = 0; i < targets.size(); i++) {
+            final H target = targets.get(i);
+            if (this.isThreadSafe(target)) {
+                final int index = i;
+                futures.add(CompletableFuture.runAsync(() -> action.accept(target, index), Util.backgroundExecutor()));
+            } else {
+                serial.add(i);
+            }
+        }
+
+        try {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            } else if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+
+        for (int i : serial) {
+            action.accept(targets.get(i), i);
+        }
+    }
+
+    /**
+     * Logs the time spent in each modifier, slowest first.
+     *
+     * @param kind       the kind of modifiers, used in the log messages
+     * @param totalNanos the wall-clock time spent applying all the modifiers
+     */
+    public void logTimings(String kind, long totalNanos) {
+        LOGGER.debug("Applied {} {} modifiers in {} ms", this.modifiers.size(), kind, TimeUnit.NANOSECONDS.toMillis(totalNanos));
+        if (!LOGGER.isDebugEnabled()) {
+            return;
+        }
+
+        IntStream.range(0, this.modifiers.size())
+                .filter(i -> this.nanos.get(i) > 0)
+                .boxed()
+                .sorted(Comparator.comparingLong(i -> -this.nanos.get(i)))
+                .forEach(i -> LOGGER.debug("  {} modifier {} took {} μs", kind, this.modifiers.get(i).key().location(), TimeUnit.NANOSECONDS.toMicros(this.nanos.get(i))));
+    }
+}
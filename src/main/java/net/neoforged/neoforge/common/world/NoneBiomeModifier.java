@@ -7,6 +7,7 @@ package net.neoforged.neoforge.common.world;
 
 import com.mojang.serialization.MapCodec;
 import net.minecraft.core.Holder;
+import net.minecraft.core.HolderSet;
 import net.minecraft.world.level.biome.Biome;
 import net.neoforged.neoforge.common.NeoForgeMod;
 
@@ -18,6 +19,16 @@ public class NoneBiomeModifier implements BiomeModifier {
         // NOOP - intended for datapack makers who want to disable a biome modifier
     }
 
+    @Override
+    public HolderSet<Biome> targetBiomes() {
+        return HolderSet.empty();
+    }
+
+    @Override
+    public boolean isThreadSafe() {
+        return true;
+    }
+
     @Override
     public MapCodec<? extends BiomeModifier> codec() {
         return NeoForgeMod.NONE_BIOME_MODIFIER_TYPE.get();
@@ -7,6 +7,7 @@ package net.neoforged.neoforge.common.world;
 
 import com.mojang.serialization.MapCodec;
 import net.minecraft.core.Holder;
+import net.minecraft.core.HolderSet;
 import net.minecraft.world.level.levelgen.structure.Structure;
 import net.neoforged.neoforge.common.NeoForgeMod;
 
@@ -18,6 +19,16 @@ public class NoneStructureModifier implements StructureModifier {
         // NOOP - intended for datapack makers who want to disable a structure modifier
     }
 
+    @Override
+    public HolderSet<Structure> targetStructures() {
+        return HolderSet.empty();
+    }
+
+    @Override
+    public boolean isThreadSafe() {
+        return true;
+    }
+
     @Override
     public MapCodec<? extends StructureModifier> codec() {
         return NeoForgeMod.NONE_STRUCTURE_MODIFIER_TYPE.get();
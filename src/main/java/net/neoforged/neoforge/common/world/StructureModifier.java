@@ -16,6 +16,7 @@ import net.minecraft.resources.RegistryOps;
 import net.minecraft.world.level.levelgen.structure.Structure;
 import net.neoforged.neoforge.common.world.ModifiableStructureInfo.StructureInfo;
 import net.neoforged.neoforge.registries.NeoForgeRegistries;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * JSON-serializable structure modifier.
@@ -64,6 +65,23 @@ public interface StructureModifier {
      */
     void modify(Holder<Structure> structure, Phase phase, StructureInfo.Builder builder);
 
+    /**
+     * {@return the structures this modifier may modify, or {@code null} if it may modify any structure}
+     * When not {@code null}, the modifier will not be called for structures outside of this set.
+     */
+    @Nullable
+    default HolderSet<Structure> targetStructures() {
+        return null;
+    }
+
+    /**
+     * {@return whether this modifier can be applied to several structures concurrently}
+     * Thread-safe modifiers must only modify the provided builder, and not rely on any other mutable state.
+     */
+    default boolean isThreadSafe() {
+        return false;
+    }
+
     /**
      * @return the codec which serializes and deserializes this structure modifier
      */
@@ -90,6 +90,16 @@ public final class StructureModifiers {
             }
         }
 
+        @Override
+        public HolderSet<Structure> targetStructures() {
+            return this.structures;
+        }
+
+        @Override
+        public boolean isThreadSafe() {
+            return true;
+        }
+
         @Override
         public MapCodec<? extends StructureModifier> codec() {
             return NeoForgeMod.ADD_SPAWNS_STRUCTURE_MODIFIER_TYPE.get();
@@ -132,6 +142,16 @@ public final class StructureModifiers {
             }
         }
 
+        @Override
+        public HolderSet<Structure> targetStructures() {
+            return this.structures;
+        }
+
+        @Override
+        public boolean isThreadSafe() {
+            return true;
+        }
+
         @Override
         public MapCodec<? extends StructureModifier> codec() {
             return NeoForgeMod.REMOVE_SPAWNS_STRUCTURE_MODIFIER_TYPE.get();
@@ -168,6 +188,16 @@ public final class StructureModifiers {
             }
         }
 
+        @Override
+        public HolderSet<Structure> targetStructures() {
+            return this.structures;
+        }
+
+        @Override
+        public boolean isThreadSafe() {
+            return true;
+        }
+
         @Override
         public MapCodec<? extends StructureModifier> codec() {
             return NeoForgeMod.CLEAR_SPAWNS_STRUCTURE_MODIFIER_TYPE.get();
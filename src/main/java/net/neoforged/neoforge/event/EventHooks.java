@@ -11,9 +11,9 @@ import com.mojang.datafixers.util.Either;
 import com.mojang.serialization.DynamicOps;
 import java.io.File;
 import java.util.ArrayList;
-import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
 import net.minecraft.advancements.AdvancementHolder;
@@ -113,11 +113,13 @@ import net.neoforged.neoforge.common.NeoForge;
 import net.neoforged.neoforge.common.extensions.IFluidStateExtension;
 import net.neoforged.neoforge.common.extensions.IOwnedSpawner;
 import net.neoforged.neoforge.common.util.BlockSnapshot;
+import net.neoforged.neoforge.common.util.DirectionSets;
 import net.neoforged.neoforge.common.util.InsertableLinkedOpenCustomHashSet;
 import net.neoforged.neoforge.event.brewing.PlayerBrewedPotionEvent;
 import net.neoforged.neoforge.event.brewing.PotionBrewEvent;
 import net.neoforged.neoforge.event.enchanting.EnchantmentLevelSetEvent;
 import net.neoforged.neoforge.event.enchanting.GetEnchantmentLevelEvent;
+import net.neoforged.neoforge.event.enchanting.ResolvedEnchantments;
 import net.neoforged.neoforge.event.entity.EntityEvent;
 import net.neoforged.neoforge.event.entity.EntityMobGriefingEvent;
 import net.neoforged.neoforge.event.entity.EntityMountEvent;
@@ -176,6 +178,7 @@ import net.neoforged.neoforge.event.level.PistonEvent;
 import net.neoforged.neoforge.event.level.SleepFinishedTimeEvent;
 import net.neoforged.neoforge.event.level.block.CreateFluidSourceEvent;
 import net.neoforged.neoforge.event.tick.EntityTickEvent;
+import net.neoforged.neoforge.event.tick.EntityTickListeners;
 import net.neoforged.neoforge.event.tick.LevelTickEvent;
 import net.neoforged.neoforge.event.tick.PlayerTickEvent;
 import net.neoforged.neoforge.event.tick.ServerTickEvent;
@@ -196,10 +199,17 @@ public class EventHooks {
         return NeoForge.EVENT_BUS.post(event).isCanceled();
     }
 
-    public static NeighborNotifyEvent onNeighborNotify(Level level, BlockPos pos, BlockState state, EnumSet<Direction> notifiedSides, boolean forceRedstoneUpdate) {
-        NeighborNotifyEvent event = new NeighborNotifyEvent(level, pos, state, notifiedSides, forceRedstoneUpdate);
-        NeoForge.EVENT_BUS.post(event);
-        return event;
+    /**
+     * Fires {@link NeighborNotifyEvent}, unless nothing listens to it.
+     *
+     * @param notifiedSides The notified sides, usually one of the {@link DirectionSets}
+     * @return {@code true} if the event was canceled
+     */
+    public static boolean onNeighborNotify(Level level, BlockPos pos, Set<Direction> notifiedSides, boolean forceRedstoneUpdate) {
+        if (!NeoForge.hasListeners(NeighborNotifyEvent.class)) {
+            return false;
+        }
+        return NeoForge.EVENT_BUS.post(new NeighborNotifyEvent(level, pos, level.getBlockState(pos), notifiedSides, forceRedstoneUpdate)).isCanceled();
     }
 
     public static boolean doPlayerHarvestCheck(Player player, BlockState state, BlockGetter level, BlockPos pos) {
@@ -936,13 +946,29 @@ public class EventHooks {
         return NeoForge.EVENT_BUS.post(new EntityTickEvent.Pre(entity));
     }
 
+    /**
+     * Fires {@link EntityTickEvent.Pre} if it has listeners, either on the event bus or in {@link EntityTickListeners} for the type of the entity.
+     * Called from the head of {@link LivingEntity#tick()}.
+     * 
+     * @param entity The entity being ticked
+     * @return {@code true} if the event was canceled, and the tick should be skipped
+     */
+    public static boolean onEntityTickPre(Entity entity) {
+        if (!NeoForge.hasListeners(EntityTickEvent.Pre.class) && !EntityTickListeners.hasPreListeners(entity.getType())) {
+            return false;
+        }
+        return fireEntityTickPre(entity).isCanceled();
+    }
+
     /**
      * Fires {@link EntityTickEvent.Post}. Called from the tail of {@link LivingEntity#tick()}.
      * 
      * @param entity The entity being ticked
      */
     public static void fireEntityTickPost(Entity entity) {
-        NeoForge.EVENT_BUS.post(new EntityTickEvent.Post(entity));
+        if (NeoForge.hasListeners(EntityTickEvent.Post.class) || EntityTickListeners.hasPostListeners(entity.getType())) {
+            NeoForge.EVENT_BUS.post(new EntityTickEvent.Post(entity));
+        }
     }
 
     /**
@@ -951,7 +977,9 @@ public class EventHooks {
      * @param player The player being ticked
      */
     public static void firePlayerTickPre(Player player) {
-        NeoForge.EVENT_BUS.post(new PlayerTickEvent.Pre(player));
+        if (NeoForge.hasListeners(PlayerTickEvent.Pre.class)) {
+            NeoForge.EVENT_BUS.post(new PlayerTickEvent.Pre(player));
+        }
     }
 
     /**
@@ -960,7 +988,9 @@ public class EventHooks {
      * @param player The player being ticked
      */
     public static void firePlayerTickPost(Player player) {
-        NeoForge.EVENT_BUS.post(new PlayerTickEvent.Post(player));
+        if (NeoForge.hasListeners(PlayerTickEvent.Post.class)) {
+            NeoForge.EVENT_BUS.post(new PlayerTickEvent.Post(player));
+        }
     }
 
     /**
@@ -970,7 +1000,9 @@ public class EventHooks {
      * @param haveTime The time supplier, indicating if there is remaining time to do work in the current tick.
      */
     public static void fireLevelTickPre(Level level, BooleanSupplier haveTime) {
-        NeoForge.EVENT_BUS.post(new LevelTickEvent.Pre(haveTime, level));
+        if (NeoForge.hasListeners(LevelTickEvent.Pre.class)) {
+            NeoForge.EVENT_BUS.post(new LevelTickEvent.Pre(haveTime, level));
+        }
     }
 
     /**
@@ -980,7 +1012,9 @@ public class EventHooks {
      * @param haveTime The time supplier, indicating if there is remaining time to do work in the current tick.
      */
     public static void fireLevelTickPost(Level level, BooleanSupplier haveTime) {
-        NeoForge.EVENT_BUS.post(new LevelTickEvent.Post(haveTime, level));
+        if (NeoForge.hasListeners(LevelTickEvent.Post.class)) {
+            NeoForge.EVENT_BUS.post(new LevelTickEvent.Post(haveTime, level));
+        }
     }
 
     /**
@@ -1045,18 +1079,30 @@ public class EventHooks {
      * @param stack The stack being queried against.
      * @param ench  The enchantment being queried for.
      * @return The new level of the enchantment.
+     * @see GetEnchantmentLevelEvent the caching of the event results
      */
     public static int getEnchantmentLevelSpecific(int level, ItemStack stack, Holder<Enchantment> ench) {
+        if (!NeoForge.hasListeners(GetEnchantmentLevelEvent.class)) {
+            return level;
+        }
+
         RegistryLookup<Enchantment> lookup = ench.unwrapLookup();
         if (lookup == null) { // Pretty sure this is never null, but I can't *prove* that it isn't.
             return level;
         }
 
-        var enchantments = new ItemEnchantments.Mutable(ItemEnchantments.EMPTY);
-        enchantments.set(ench, level);
-        var event = new GetEnchantmentLevelEvent(stack, enchantments, ench, ench.unwrapLookup());
-        NeoForge.EVENT_BUS.post(event);
-        return enchantments.getLevel(ench);
+        if (stack.isEmpty()) {
+            var enchantments = new ItemEnchantments.Mutable(ItemEnchantments.EMPTY);
+            enchantments.set(ench, level);
+            NeoForge.EVENT_BUS.post(new GetEnchantmentLevelEvent(stack, enchantments, ench, lookup));
+            return enchantments.getLevel(ench);
+        }
+
+        ResolvedEnchantments resolved = stack.getResolvedEnchantments();
+        if (resolved != null && resolved.isValidFor(stack, lookup)) {
+            return resolved.enchantments().getLevel(ench);
+        }
+        return stack.getAllEnchantments(lookup).getLevel(ench);
     }
 
     /**
@@ -1065,12 +1111,29 @@ public class EventHooks {
      * @param enchantments The original enchantment map as provided by the Item.
      * @param stack        The stack being queried against.
      * @return The new enchantment map.
+     * @see GetEnchantmentLevelEvent the caching of the event results
      */
     public static ItemEnchantments getAllEnchantmentLevels(ItemEnchantments enchantments, ItemStack stack, RegistryLookup<Enchantment> lookup) {
+        if (!NeoForge.hasListeners(GetEnchantmentLevelEvent.class)) {
+            return enchantments;
+        }
+
+        ResolvedEnchantments resolved = stack.getResolvedEnchantments();
+        if (resolved != null && resolved.isValidFor(stack, lookup)) {
+            return resolved.enchantments();
+        }
+
+        // Capture the versions before firing the event, such that modifications made by listeners invalidate the result
+        int componentsVersion = stack.getComponentsModificationCount();
+        int listenerGeneration = NeoForge.getListenerGeneration();
         var mutableEnchantments = new ItemEnchantments.Mutable(enchantments);
         var event = new GetEnchantmentLevelEvent(stack, mutableEnchantments, null, lookup);
         NeoForge.EVENT_BUS.post(event);
-        return mutableEnchantments.toImmutable();
+        ItemEnchantments result = mutableEnchantments.toImmutable();
+        if (!stack.isEmpty()) {
+            stack.setResolvedEnchantments(new ResolvedEnchantments(componentsVersion, listenerGeneration, lookup, result));
+        }
+        return result;
     }
 
     /**
@@ -25,7 +25,12 @@ import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
 
 /**
- * This event is fired when the attributes for an item stack are queried (for any reason) through {@link ItemStack#getAttributeModifiers()}.
+ * This event is fired when the gameplay attributes of an item stack are computed through {@link ItemStack#getAttributeModifiers()}.
+ * <p>
+ * The event is not fired on every query: the result is cached on the stack until its components are modified
+ * or a listener is registered on the event bus. Unregistering a listener does not invalidate the cached results.
+ * Listeners must therefore be a pure function of the stack, only depending on its item and components, and not on other state
+ * such as the holder of the stack, the level, configuration or time.
  * <br>
  * This event is fired regardless of if the stack has {@link DataComponents#ATTRIBUTE_MODIFIERS} or not. If your attribute should be
  * ignored when attributes are overridden, you can check for the presence of the component.
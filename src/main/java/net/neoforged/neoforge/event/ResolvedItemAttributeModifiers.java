@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) NeoForged and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.neoforged.neoforge.event;
+
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.component.ItemAttributeModifiers;
+import net.neoforged.neoforge.common.NeoForge;
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * The gameplay attribute modifiers of an {@link ItemStack}, after firing {@link ItemAttributeModifierEvent}, cached on the stack.
+ * <p>
+ * The cached modifiers are valid as long as the components of the stack are not modified,
+ * no listener is registered on the event bus, and the same default modifiers are used.
+ *
+ * @param item               The item of the stack.
+ * @param componentsVersion  The {@linkplain ItemStack#getComponentsModificationCount() modification count} of the stack's components.
+ * @param listenerGeneration The {@linkplain NeoForge#getListenerGeneration() listener generation} of the event bus.
+ * @param defaultModifiers   The default modifiers passed to the event.
+ * @param modifiers          The resolved modifiers.
+ */
+@ApiStatus.Internal
+public record ResolvedItemAttributeModifiers(Item item, int componentsVersion, int listenerGeneration, ItemAttributeModifiers defaultModifiers, ItemAttributeModifiers modifiers) {
+    public boolean isValidFor(ItemStack stack, ItemAttributeModifiers defaultModifiers) {
+        return this.item == stack.getItem() && this.componentsVersion == stack.getComponentsModificationCount() && this.listenerGeneration == NeoForge.getListenerGeneration()
+                && (this.defaultModifiers == defaultModifiers || this.defaultModifiers.equals(defaultModifiers));
+    }
+}
@@ -21,6 +21,12 @@ import org.jetbrains.annotations.Nullable;
  * It is called from {@link IItemStackExtension#getEnchantmentLevel(Enchantment)} and {@link IItemStackExtension#getAllEnchantments()}.
  * <p>
  * It is not fired for interactions with NBT, which means these changes will not reflect in the item tooltip.
+ * <p>
+ * The event is not fired on every query: it is fired once for all the enchantments of a non-empty stack,
+ * and the result is cached on the stack until its components are modified or a listener is registered on the event bus.
+ * Unregistering a listener does not invalidate the cached results.
+ * Listeners must therefore only depend on the item and the components of the stack, and not on other state
+ * such as the holder of the stack, the level, configuration or time.
  */
 public class GetEnchantmentLevelEvent extends Event {
     protected final ItemStack stack;
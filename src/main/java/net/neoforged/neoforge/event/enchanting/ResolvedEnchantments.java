@@ -0,0 +1,31 @@
+/*
+ * Copyright (c) NeoForged and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.neoforged.neoforge.event.enchanting;
+
+import net.minecraft.core.HolderLookup.RegistryLookup;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.enchantment.Enchantment;
+import net.minecraft.world.item.enchantment.ItemEnchantments;
+import net.neoforged.neoforge.common.NeoForge;
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * The gameplay enchantments of an {@link ItemStack}, after firing {@link GetEnchantmentLevelEvent}, cached on the stack.
+ * <p>
+ * The cached enchantments are valid as long as the components of the stack are not modified,
+ * no listener is registered on the event bus, and the same registry lookup is used.
+ *
+ * @param componentsVersion  The {@linkplain ItemStack#getComponentsModificationCount() modification count} of the stack's components.
+ * @param listenerGeneration The {@linkplain NeoForge#getListenerGeneration() listener generation} of the event bus.
+ * @param lookup             The registry lookup passed to the event.
+ * @param enchantments       The resolved enchantments.
+ */
+@ApiStatus.Internal
+public record ResolvedEnchantments(int componentsVersion, int listenerGeneration, RegistryLookup<Enchantment> lookup, ItemEnchantments enchantments) {
+    public boolean isValidFor(ItemStack stack, RegistryLookup<Enchantment> lookup) {
+        return this.lookup == lookup && this.componentsVersion == stack.getComponentsModificationCount() && this.listenerGeneration == NeoForge.getListenerGeneration();
+    }
+}
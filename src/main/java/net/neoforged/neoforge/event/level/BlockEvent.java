@@ -8,6 +8,7 @@ package net.neoforged.neoforge.event.level;
 import com.google.common.collect.ImmutableList;
 import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.world.entity.Entity;
@@ -166,10 +167,10 @@ public abstract class BlockEvent extends Event {
      * does. This event is only called on the server.
      */
     public static class NeighborNotifyEvent extends BlockEvent implements ICancellableEvent {
-        private final EnumSet<Direction> notifiedSides;
+        private final Set<Direction> notifiedSides;
         private final boolean forceRedstoneUpdate;
 
-        public NeighborNotifyEvent(Level level, BlockPos pos, BlockState state, EnumSet<Direction> notifiedSides, boolean forceRedstoneUpdate) {
+        public NeighborNotifyEvent(Level level, BlockPos pos, BlockState state, Set<Direction> notifiedSides, boolean forceRedstoneUpdate) {
             super(level, pos, state);
             this.notifiedSides = notifiedSides;
             this.forceRedstoneUpdate = forceRedstoneUpdate;
@@ -178,9 +179,19 @@ public abstract class BlockEvent extends Event {
         /**
          * Gets a list of directions from the base block that updates will occur upon.
          *
-         * @return list of notified directions
+         * @return a copy of the notified directions
+         * @see #getNotifiedSideSet()
          */
         public EnumSet<Direction> getNotifiedSides() {
+            return notifiedSides.isEmpty() ? EnumSet.noneOf(Direction.class) : EnumSet.copyOf(notifiedSides);
+        }
+
+        /**
+         * Gets the directions from the base block that updates will occur upon, without copying them.
+         *
+         * @return unmodifiable set of notified directions
+         */
+        public Set<Direction> getNotifiedSideSet() {
             return notifiedSides;
         }
 
@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) NeoForged and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.neoforged.neoforge.event.tick;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import net.minecraft.world.entity.EntityType;
+import net.neoforged.bus.api.EventPriority;
+import net.neoforged.bus.api.ICancellableEvent;
+import net.neoforged.neoforge.common.NeoForge;
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * Registry of {@link EntityTickEvent} listeners that only receive the events of entities of a given {@link EntityType}.
+ * <p>
+ * Unlike listeners registered directly on {@link NeoForge#EVENT_BUS}, which receive the tick events of every entity,
+ * these listeners are only invoked for the entity types they were registered for,
+ * and the events of the other entities are not created at all if nothing else listens to them.
+ * <p>
+ * The events are still posted on the {@link NeoForge#EVENT_BUS}, and the filtered listeners are invoked by the bus at their {@link EventPriority}.
+ * Filtered listeners with the same priority are invoked together, in registration order, and are not invoked once the event is canceled.
+ * Listeners can be removed with {@link #removePreListener} and {@link #removePostListener}.
+ */
+public final class EntityTickListeners {
+    private static final FilteredListeners<EntityTickEvent.Pre> PRE = new FilteredListeners<>(EntityTickEvent.Pre.class);
+    private static final FilteredListeners<EntityTickEvent.Post> POST = new FilteredListeners<>(EntityTickEvent.Post.class);
+
+    private EntityTickListeners() {}
+
+    /**
+     * Registers a listener with {@linkplain EventPriority#NORMAL normal priority} for the {@link EntityTickEvent.Pre} of entities of the given type.
+     */
+    public static void addPreListener(EntityType<?> entityType, Consumer<EntityTickEvent.Pre> listener) {
+        addPreListener(entityType, EventPriority.NORMAL, listener);
+    }
+
+    /**
+     * Registers a listener for the {@link EntityTickEvent.Pre} of entities of the given type.
+     */
+    public static void addPreListener(EntityType<?> entityType, EventPriority priority, Consumer<EntityTickEvent.Pre> listener) {
+        PRE.add(entityType, priority, listener);
+    }
+
+    /**
+     * Removes a listener previously registered with {@link #addPreListener}.
+     *
+     * @return {@code true} if the listener was registered for the given type
+     */
+    public static boolean removePreListener(EntityType<?> entityType, Consumer<EntityTickEvent.Pre> listener) {
+        return PRE.remove(entityType, listener);
+    }
+
+    /**
+     * Registers a listener with {@linkplain EventPriority#NORMAL normal priority} for the {@link EntityTickEvent.Post} of entities of the given type.
+     */
+    public static void addPostListener(EntityType<?> entityType, Consumer<EntityTickEvent.Post> listener) {
+        addPostListener(entityType, EventPriority.NORMAL, listener);
+    }
+
+    /**
+     * Registers a listener for the {@link EntityTickEvent.Post} of entities of the given type.
+     */
+    public static void addPostListener(EntityType<?> entityType, EventPriority priority, Consumer<EntityTickEvent.Post> listener) {
+        POST.add(entityType, priority, listener);
+    }
+
+    /**
+     * Removes a listener previously registered with {@link #addPostListener}.
+     *
+     * @return {@code true} if the listener was registered for the given type
+     */
+    public static boolean removePostListener(EntityType<?> entityType, Consumer<EntityTickEvent.Post> listener) {
+        return POST.remove(entityType, listener);
+    }
+
+    /**
+     * {@return whether there are filtered listeners for the {@link EntityTickEvent.Pre} of entities of the given type}
+     */
+    @ApiStatus.Internal
+    public static boolean hasPreListeners(EntityType<?> entityType) {
+        return PRE.has(entityType);
+    }
+
+    /**
+     * {@return whether there are filtered listeners for the {@link EntityTickEvent.Post} of entities of the given type}
+     */
+    @ApiStatus.Internal
+    public static boolean hasPostListeners(EntityType<?> entityType) {
+        return POST.has(entityType);
+    }
+
+    private static final class FilteredListeners<T extends EntityTickEvent> {
+        private static final EventPriority[] PRIORITIES = EventPriority.values();
+
+        private final Class<T> eventType;
+        /**
+         * Listeners of each entity type, indexed by {@linkplain EventPriority#ordinal() priority}.
+         * Replaced by a copy on every change, such that readers never observe partial updates.
+         */
+        private volatile Map<EntityType<?>, Consumer<T>[][]> listeners = Map.of();
+        /**
+         * Whether the bus listener forwarding the event to the listeners of each priority was registered.
+         */
+        private final boolean[] forwarding = new boolean[PRIORITIES.length];
+
+        private FilteredListeners(Class<T> eventType) {
+            this.eventType = eventType;
+        }
+
+        @SuppressWarnings("unchecked") // Generic array creation, the arrays only ever hold listeners of T
+        synchronized void add(EntityType<?> entityType, EventPriority priority, Consumer<T> listener) {
+            int index = priority.ordinal();
+            Map<EntityType<?>, Consumer<T>[][]> copy = new IdentityHashMap<>(listeners);
+            Consumer<T>[][] byPriority = copy.get(entityType);
+            byPriority = byPriority == null ? new Consumer[PRIORITIES.length][] : byPriority.clone();
+            Consumer<T>[] existing = byPriority[index];
+            if (existing == null) {
+                byPriority[index] = new Consumer[] { listener };
+            } else {
+                byPriority[index] = Arrays.copyOf(existing, existing.length + 1);
+                byPriority[index][existing.length] = listener;
+            }
+            copy.put(entityType, byPriority);
+            listeners = copy;
+
+            if (!forwarding[index]) {
+                forwarding[index] = true;
+                // Not tracked by NeoForge.hasListeners: the tick hooks check for filtered listeners themselves
+                NeoForge.addUntrackedListener(priority, eventType, event -> dispatch(event, index));
+            }
+        }
+
+        @SuppressWarnings("unchecked") // Generic array creation, the arrays only ever hold listeners of T
+        synchronized boolean remove(EntityType<?> entityType, Consumer<T> listener) {
+            Consumer<T>[][] byPriority = listeners.get(entityType);
+            if (byPriority == null) {
+                return false;
+            }
+
+            for (int index = 0; index < byPriority.length; index++) {
+                Consumer<T>[] existing = byPriority[index];
+                int position = existing == null ? -1 : indexOf(existing, listener);
+                if (position < 0) {
+                    continue;
+                }
+
+                Consumer<T>[] updated = new Consumer[existing.length - 1];
+                System.arraycopy(existing, 0, updated, 0, position);
+                System.arraycopy(existing, position + 1, updated, position, updated.length - position);
+                Consumer<T>[][] updatedByPriority = byPriority.clone();
+                updatedByPriority[index] = updated.length == 0 ? null : updated;
+
+                Map<EntityType<?>, Consumer<T>[][]> copy = new IdentityHashMap<>(listeners);
+                if (Arrays.stream(updatedByPriority).allMatch(array -> array == null)) {
+                    copy.remove(entityType);
+                } else {
+                    copy.put(entityType, updatedByPriority);
+                }
+                listeners = copy;
+                return true;
+            }
+            return false;
+        }
+
+        private static int indexOf(Object[] array, Object value) {
+            for (int i = 0; i < array.length; i++) {
+                if (array[i] == value) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        boolean has(EntityType<?> entityType) {
+            Map<EntityType<?>, Consumer<T>[][]> current = listeners;
+            return !current.isEmpty() && current.containsKey(entityType);
+        }
+
+        private void dispatch(T event, int index) {
+            Map<EntityType<?>, Consumer<T>[][]> current = listeners;
+            if (current.isEmpty()) {
+                return;
+            }
+            Consumer<T>[][] byPriority = current.get(event.getEntity().getType());
+            Consumer<T>[] priorityListeners = byPriority == null ? null : byPriority[index];
+            if (priorityListeners == null) {
+                return;
+            }
+
+            for (Consumer<T> listener : priorityListeners) {
+                listener.accept(event);
+                if (event instanceof ICancellableEvent cancellable && cancellable.isCanceled()) {
+                    break;
+                }
+            }
+        }
+    }
+}
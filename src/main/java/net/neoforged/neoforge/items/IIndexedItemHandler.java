@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) NeoForged and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.neoforged.neoforge.items;
+
+import net.minecraft.world.item.ItemStack;
+
+/**
+ * An {@link IItemHandler} that keeps an index of the occupancy of its slots,
+ * such that finding empty, occupied or stackable slots does not require checking every slot.
+ * <p>
+ * {@link ItemHandlerHelper} and the item handler wrappers use these queries when the handler they operate on implements this interface.
+ *
+ * @see IndexedItemStackHandler
+ */
+public interface IIndexedItemHandler extends IItemHandler {
+    /**
+     * {@return the first empty slot at or after the given slot, or {@code -1} if there is none}
+     */
+    int nextEmptySlot(int fromSlot);
+
+    /**
+     * {@return the first slot holding an item at or after the given slot, or {@code -1} if there is none}
+     */
+    int nextOccupiedSlot(int fromSlot);
+
+    /**
+     * {@return the first slot at or after the given slot that is empty or whose stack is below its limit, or {@code -1} if there is none}
+     */
+    int nextNonFullSlot(int fromSlot);
+
+    /**
+     * Finds the first slot at or after the given slot that holds the same item with the same components as the given stack,
+     * and whose stack is below its limit.
+     *
+     * @param stack    the stack to look for; its count is ignored
+     * @param fromSlot the first slot to consider
+     * @return the slot, or {@code -1} if there is none
+     */
+    int nextStackableSlot(ItemStack stack, int fromSlot);
+
+    @Override
+    default boolean isEmpty() {
+        return nextOccupiedSlot(0) < 0;
+    }
+
+    @Override
+    default boolean isFull() {
+        return nextNonFullSlot(0) < 0;
+    }
+
+    @Override
+    default ItemStack insertItemStacked(ItemStack stack, boolean simulate) {
+        if (stack.isEmpty()) {
+            return stack;
+        }
+
+        if (stack.isStackable()) {
+            for (int slot = nextStackableSlot(stack, 0); slot >= 0 && !stack.isEmpty(); slot = nextStackableSlot(stack, slot + 1)) {
+                stack = insertItem(slot, stack, simulate);
+            }
+        }
+
+        // When simulating, the empty slots are not filled, so each one is only tried once
+        for (int slot = nextEmptySlot(0); slot >= 0 && !stack.isEmpty(); slot = nextEmptySlot(slot + 1)) {
+            stack = insertItem(slot, stack, simulate);
+        }
+        return stack;
+    }
+}
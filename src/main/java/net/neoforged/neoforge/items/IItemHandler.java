@@ -5,6 +5,7 @@
 
 package net.neoforged.neoforge.items;
 
+import java.util.function.Predicate;
 import net.minecraft.world.Container;
 import net.minecraft.world.item.ItemStack;
 import net.neoforged.neoforge.fluids.FluidStack;
@@ -99,4 +100,131 @@ public interface IItemHandler {
      *         false if the slot can never insert the ItemStack in any situation.
      */
     boolean isItemValid(int slot, ItemStack stack);
+
+    /**
+     * Checks whether none of the slots hold any item.
+     * <p>
+     * The default implementation checks every slot. Implementations that can answer this faster, for instance by
+     * tracking which slots are occupied, should override it.
+     *
+     * @return true if all slots are empty
+     */
+    default boolean isEmpty() {
+        for (int slot = 0; slot < getSlots(); slot++) {
+            if (!getStackInSlot(slot).isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether all of the slots are filled up to their {@linkplain #getSlotLimit(int) limit}.
+     * <p>
+     * This is a hint: if it returns true, nothing can be inserted, but if it returns false, insertion may still fail,
+     * for instance because the stacks in the slots cannot grow past their max stack size.
+     * <p>
+     * The default implementation checks every slot. Implementations that can answer this faster should override it.
+     *
+     * @return true if no slot can accept more items
+     */
+    default boolean isFull() {
+        for (int slot = 0; slot < getSlots(); slot++) {
+            ItemStack stackInSlot = getStackInSlot(slot);
+            if (stackInSlot.isEmpty() || stackInSlot.getCount() < getSlotLimit(slot)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Inserts an ItemStack into the slots of this handler, filling slots that already hold the same item first,
+     * then empty slots, and returns the remainder.
+     * <p>
+     * The default implementation reads every slot once. Non-stackable items are inserted into the first slots that accept them.
+     *
+     * @param stack    ItemStack to insert. This must not be modified by the item handler.
+     * @param simulate If true, the insertion is only simulated
+     * @return The remaining ItemStack that was not inserted (if the entire stack is accepted, then return an empty ItemStack).
+     *         May be the same as the input ItemStack if unchanged, otherwise a new ItemStack.
+     */
+    default ItemStack insertItemStacked(ItemStack stack, boolean simulate) {
+        if (stack.isEmpty()) {
+            return stack;
+        }
+
+        int slots = getSlots();
+        if (!stack.isStackable()) {
+            for (int slot = 0; slot < slots && !stack.isEmpty(); slot++) {
+                stack = insertItem(slot, stack, simulate);
+            }
+            return stack;
+        }
+
+        // Fill up slots with the same item, remembering the empty slots for the second pass
+        int[] emptySlots = null;
+        int emptySlotCount = 0;
+        for (int slot = 0; slot < slots; slot++) {
+            ItemStack stackInSlot = getStackInSlot(slot);
+            if (stackInSlot.isEmpty()) {
+                if (emptySlots == null) {
+                    emptySlots = new int[slots - slot];
+                }
+                emptySlots[emptySlotCount++] = slot;
+            } else if (ItemStack.isSameItemSameComponents(stackInSlot, stack)) {
+                stack = insertItem(slot, stack, simulate);
+                if (stack.isEmpty()) {
+                    return stack;
+                }
+            }
+        }
+
+        for (int i = 0; i < emptySlotCount; i++) {
+            stack = insertItem(emptySlots[i], stack, simulate);
+            if (stack.isEmpty()) {
+                break;
+            }
+        }
+        return stack;
+    }
+
+    /**
+     * Extracts up to {@code amount} items matching a filter, possibly from several slots.
+     * <p>
+     * The first slot holding a stack that matches the filter and can be extracted from determines the extracted item:
+     * further items are only extracted from slots holding the same item with the same components.
+     *
+     * @param filter   Filter for the stacks to extract from. It is tested against the contents of the slots, which must not be modified.
+     * @param amount   Maximum amount to extract (may be greater than the current stack's max limit)
+     * @param simulate If true, the extraction is only simulated
+     * @return ItemStack extracted from the slots, or an empty stack if nothing matching could be extracted.
+     *         Its stack size is less than or equal to {@code amount} and {@link ItemStack#getMaxStackSize()}.
+     */
+    default ItemStack extractMatching(Predicate<ItemStack> filter, int amount, boolean simulate) {
+        ItemStack extracted = ItemStack.EMPTY;
+        for (int slot = 0; slot < getSlots() && amount > 0; slot++) {
+            ItemStack stackInSlot = getStackInSlot(slot);
+            if (stackInSlot.isEmpty()) {
+                continue;
+            }
+            if (extracted.isEmpty() ? !filter.test(stackInSlot) : !ItemStack.isSameItemSameComponents(stackInSlot, extracted)) {
+                continue;
+            }
+
+            ItemStack slotExtracted = extractItem(slot, amount, simulate);
+            if (slotExtracted.isEmpty()) {
+                continue;
+            }
+
+            if (extracted.isEmpty()) {
+                extracted = slotExtracted;
+                amount = Math.min(amount, extracted.getMaxStackSize()) - extracted.getCount();
+            } else {
+                extracted.grow(slotExtracted.getCount());
+                amount -= slotExtracted.getCount();
+            }
+        }
+        return extracted;
+    }
 }
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) NeoForged and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.neoforged.neoforge.items;
+
+import it.unimi.dsi.fastutil.ints.IntRBTreeSet;
+import it.unimi.dsi.fastutil.ints.IntSortedSet;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenCustomHashMap;
+import java.util.BitSet;
+import net.minecraft.core.HolderLookup;
+import net.minecraft.core.NonNullList;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.ItemStackLinkedSet;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * An {@link ItemStackHandler} that implements {@link IIndexedItemHandler}, for handlers with many slots.
+ * <p>
+ * Empty and full slots are tracked in bitsets, and the slots whose stacks are below their limit are indexed by item and components.
+ * The index is updated after each modification made through the methods of this class,
+ * so subclasses must not modify {@link #stacks} directly, and must call {@link #updateIndex(int)} if they do.
+ * During {@link #onContentsChanged(int)} and {@link #onLoad()}, the index does not reflect the change yet.
+ */
+public class IndexedItemStackHandler extends ItemStackHandler implements IIndexedItemHandler {
+    private final BitSet occupiedSlots = new BitSet();
+    private final BitSet fullSlots = new BitSet();
+    /**
+     * Slots whose stacks are below their limit, by item and components.
+     */
+    private final Object2ObjectOpenCustomHashMap<ItemStack, IntSortedSet> stackableSlots = new Object2ObjectOpenCustomHashMap<>(ItemStackLinkedSet.TYPE_AND_TAG);
+    /**
+     * The key of {@link #stackableSlots} under which each slot is indexed, or {@code null} if it is not.
+     * Keys are copies, such that later modifications of the stacks in the slots do not affect the index.
+     */
+    private @Nullable ItemStack[] stackableKeys;
+
+    public IndexedItemStackHandler() {
+        this(1);
+    }
+
+    public IndexedItemStackHandler(int size) {
+        super(size);
+        rebuildIndex();
+    }
+
+    public IndexedItemStackHandler(NonNullList<ItemStack> stacks) {
+        super(stacks);
+        rebuildIndex();
+    }
+
+    @Override
+    public void setSize(int size) {
+        super.setSize(size);
+        rebuildIndex();
+    }
+
+    @Override
+    public void setStackInSlot(int slot, ItemStack stack) {
+        super.setStackInSlot(slot, stack);
+        updateIndex(slot);
+    }
+
+    @Override
+    public ItemStack insertItem(int slot, ItemStack stack, boolean simulate) {
+        ItemStack remainder = super.insertItem(slot, stack, simulate);
+        if (!simulate) {
+            updateIndex(slot);
+        }
+        return remainder;
+    }
+
+    @Override
+    public ItemStack extractItem(int slot, int amount, boolean simulate) {
+        ItemStack extracted = super.extractItem(slot, amount, simulate);
+        if (!simulate) {
+            updateIndex(slot);
+        }
+        return extracted;
+    }
+
+    @Override
+    public void deserializeNBT(HolderLookup.Provider provider, CompoundTag nbt) {
+        super.deserializeNBT(provider, nbt);
+        rebuildIndex();
+    }
+
+    @Override
+    public int nextEmptySlot(int fromSlot) {
+        int slot = occupiedSlots.nextClearBit(fromSlot);
+        return slot < stacks.size() ? slot : -1;
+    }
+
+    @Override
+    public int nextOccupiedSlot(int fromSlot) {
+        return occupiedSlots.nextSetBit(fromSlot);
+    }
+
+    @Override
+    public int nextNonFullSlot(int fromSlot) {
+        int slot = fullSlots.nextClearBit(fromSlot);
+        return slot < stacks.size() ? slot : -1;
+    }
+
+    @Override
+    public int nextStackableSlot(ItemStack stack, int fromSlot) {
+        IntSortedSet slots = stackableSlots.get(stack);
+        if (slots == null) {
+            return -1;
+        }
+        IntSortedSet tail = slots.tailSet(fromSlot);
+        return tail.isEmpty() ? -1 : tail.firstInt();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return occupiedSlots.isEmpty();
+    }
+
+    @Override
+    public boolean isFull() {
+        return nextNonFullSlot(0) < 0;
+    }
+
+    /**
+     * Updates the index for the given slot, after its stack was changed.
+     */
+    protected void updateIndex(int slot) {
+        ItemStack stack = stacks.get(slot);
+        occupiedSlots.set(slot, !stack.isEmpty());
+        boolean full = !stack.isEmpty() && stack.getCount() >= getStackLimit(slot, stack);
+        fullSlots.set(slot, full);
+
+        ItemStack previousKey = stackableKeys[slot];
+        boolean stackable = !stack.isEmpty() && !full;
+        if (previousKey != null) {
+            if (stackable && ItemStack.isSameItemSameComponents(previousKey, stack)) {
+                return;
+            }
+            IntSortedSet slots = stackableSlots.get(previousKey);
+            slots.remove(slot);
+            if (slots.isEmpty()) {
+                stackableSlots.remove(previousKey);
+            }
+            stackableKeys[slot] = null;
+        }
+
+        if (stackable) {
+            ItemStack key = stack.copyWithCount(1);
+            stackableSlots.computeIfAbsent(key, k -> new IntRBTreeSet()).add(slot);
+            stackableKeys[slot] = key;
+        }
+    }
+
+    /**
+     * Rebuilds the index for all slots.
+     */
+    protected void rebuildIndex() {
+        occupiedSlots.clear();
+        fullSlots.clear();
+        stackableSlots.clear();
+        stackableKeys = new ItemStack[stacks.size()];
+        for (int slot = 0; slot < stacks.size(); slot++) {
+            updateIndex(slot);
+        }
+    }
+}
@@ -39,39 +39,7 @@ public class ItemHandlerHelper {
         if (inventory == null || stack.isEmpty())
             return stack;
 
-        // not stackable -> just insert into a new slot
-        if (!stack.isStackable()) {
-            return insertItem(inventory, stack, simulate);
-        }
-
-        int sizeInventory = inventory.getSlots();
-
-        // go through the inventory and try to fill up already existing items
-        for (int i = 0; i < sizeInventory; i++) {
-            ItemStack slot = inventory.getStackInSlot(i);
-            if (ItemStack.isSameItemSameComponents(slot, stack)) {
-                stack = inventory.insertItem(i, stack, simulate);
-
-                if (stack.isEmpty()) {
-                    break;
-                }
-            }
-        }
-
-        // insert remainder into empty slots
-        if (!stack.isEmpty()) {
-            // find empty slot
-            for (int i = 0; i < sizeInventory; i++) {
-                if (inventory.getStackInSlot(i).isEmpty()) {
-                    stack = inventory.insertItem(i, stack, simulate);
-                    if (stack.isEmpty()) {
-                        break;
-                    }
-                }
-            }
-        }
-
-        return stack;
+        return inventory.insertItemStacked(stack, simulate);
     }
 
     /** giveItemToPlayer without preferred slot */
@@ -133,13 +101,22 @@ public class ItemHandlerHelper {
             int itemsFound = 0;
             float proportion = 0.0F;
 
-            for (int j = 0; j < inv.getSlots(); ++j) {
-                ItemStack itemstack = inv.getStackInSlot(j);
-
-                if (!itemstack.isEmpty()) {
+            if (inv instanceof IIndexedItemHandler indexed) {
+                // Only visit the occupied slots
+                for (int j = indexed.nextOccupiedSlot(0); j >= 0; j = indexed.nextOccupiedSlot(j + 1)) {
+                    ItemStack itemstack = inv.getStackInSlot(j);
                     proportion += (float) itemstack.getCount() / (float) Math.min(inv.getSlotLimit(j), itemstack.getMaxStackSize());
                     ++itemsFound;
                 }
+            } else {
+                for (int j = 0; j < inv.getSlots(); ++j) {
+                    ItemStack itemstack = inv.getStackInSlot(j);
+
+                    if (!itemstack.isEmpty()) {
+                        proportion += (float) itemstack.getCount() / (float) Math.min(inv.getSlotLimit(j), itemstack.getMaxStackSize());
+                        ++itemsFound;
+                    }
+                }
             }
 
             proportion = proportion / (float) inv.getSlots();
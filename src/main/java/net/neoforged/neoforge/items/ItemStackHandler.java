@@ -121,6 +121,27 @@ public class ItemStackHandler implements IItemHandler, IItemHandlerModifiable, I
         }
     }
 
+    @Override
+    public boolean isEmpty() {
+        for (ItemStack stack : stacks) {
+            if (!stack.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean isFull() {
+        for (int i = 0; i < stacks.size(); i++) {
+            ItemStack stack = stacks.get(i);
+            if (stack.isEmpty() || stack.getCount() < getStackLimit(i, stack)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     @Override
     public int getSlotLimit(int slot) {
         return Item.ABSOLUTE_MAX_STACK_SIZE;
@@ -8,6 +8,7 @@ package net.neoforged.neoforge.items;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Predicate;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.core.FrontAndTop;
@@ -41,28 +42,39 @@ public class VanillaInventoryCodeHooks {
         return getSourceItemHandler(level, dest)
                 .map(itemHandlerResult -> {
                     IItemHandler handler = itemHandlerResult.getKey();
+                    Predicate<ItemStack> canInsert = stack -> getHopperSlotFor(dest, stack) >= 0;
 
-                    for (int i = 0; i < handler.getSlots(); i++) {
-                        ItemStack extractItem = handler.extractItem(i, 1, true);
-                        if (!extractItem.isEmpty()) {
-                            for (int j = 0; j < dest.getContainerSize(); j++) {
-                                ItemStack destStack = dest.getItem(j);
-                                if (dest.canPlaceItem(j, extractItem) && (destStack.isEmpty() || destStack.getCount() < destStack.getMaxStackSize() && destStack.getCount() < dest.getMaxStackSize() && ItemStack.isSameItemSameComponents(extractItem, destStack))) {
-                                    extractItem = handler.extractItem(i, 1, false);
-                                    if (destStack.isEmpty())
-                                        dest.setItem(j, extractItem);
-                                    else {
-                                        destStack.grow(1);
-                                        dest.setItem(j, destStack);
-                                    }
-                                    dest.setChanged();
-                                    return true;
-                                }
-                            }
+                    // Pick the item from the simulated result, and only extract for real once the item has somewhere to go
+                    ItemStack simulated = handler.extractMatching(canInsert, 1, true);
+                    int j = simulated.isEmpty() ? -1 : getHopperSlotFor(dest, simulated);
+                    if (j < 0) {
+                        return false;
+                    }
+
+                    ItemStack extractItem = handler.extractMatching(canInsert, 1, false);
+                    if (extractItem.isEmpty()) {
+                        return false;
+                    }
+
+                    if (!ItemStack.isSameItemSameComponents(extractItem, simulated)) {
+                        // The handler extracted another item than it simulated, don't merge it into the slot picked for the simulated item
+                        j = getHopperSlotFor(dest, extractItem);
+                        if (j < 0) {
+                            // Give the item back if the hopper can't hold it
+                            ItemHandlerHelper.insertItemStacked(handler, extractItem, false);
+                            return false;
                         }
                     }
 
-                    return false;
+                    ItemStack destStack = dest.getItem(j);
+                    if (destStack.isEmpty())
+                        dest.setItem(j, extractItem);
+                    else {
+                        destStack.grow(1);
+                        dest.setItem(j, destStack);
+                    }
+                    dest.setChanged();
+                    return true;
                 })
                 .orElse(null); // TODO bad null
     }
@@ -101,7 +113,7 @@ public class VanillaInventoryCodeHooks {
                 .map(destinationResult -> {
                     IItemHandler itemHandler = destinationResult.getKey();
                     Object destination = destinationResult.getValue();
-                    if (isFull(itemHandler)) {
+                    if (itemHandler.isFull()) {
                         return false;
                     } else {
                         for (int i = 0; i < hopper.getContainerSize(); ++i) {
@@ -139,6 +151,19 @@ public class VanillaInventoryCodeHooks {
                 .orElse(stack);
     }
 
+    /**
+     * {@return the first slot of the hopper that can accept the given stack, or {@code -1} if there is none}
+     */
+    private static int getHopperSlotFor(Hopper dest, ItemStack stack) {
+        for (int j = 0; j < dest.getContainerSize(); j++) {
+            ItemStack destStack = dest.getItem(j);
+            if (dest.canPlaceItem(j, stack) && (destStack.isEmpty() || destStack.getCount() < destStack.getMaxStackSize() && destStack.getCount() < dest.getMaxStackSize() && ItemStack.isSameItemSameComponents(stack, destStack))) {
+                return j;
+            }
+        }
+        return -1;
+    }
+
     private static ItemStack putStackInInventoryAllSlots(BlockEntity source, Object destination, IItemHandler destInventory, ItemStack stack) {
         for (int slot = 0; slot < destInventory.getSlots() && !stack.isEmpty(); slot++) {
             stack = insertStack(source, destination, destInventory, stack, slot);
@@ -154,7 +179,7 @@ public class VanillaInventoryCodeHooks {
 
         if (destInventory.insertItem(slot, stack, true).isEmpty()) {
             boolean insertedItem = false;
-            boolean inventoryWasEmpty = isEmpty(destInventory);
+            boolean inventoryWasEmpty = destInventory.isEmpty();
 
             if (itemstack.isEmpty()) {
                 destInventory.insertItem(slot, stack, false);
@@ -186,26 +211,6 @@ public class VanillaInventoryCodeHooks {
         return stack;
     }
 
-    private static boolean isFull(IItemHandler itemHandler) {
-        for (int slot = 0; slot < itemHandler.getSlots(); slot++) {
-            ItemStack stackInSlot = itemHandler.getStackInSlot(slot);
-            if (stackInSlot.isEmpty() || stackInSlot.getCount() < itemHandler.getSlotLimit(slot)) {
-                return false;
-            }
-        }
-        return true;
-    }
-
-    private static boolean isEmpty(IItemHandler itemHandler) {
-        for (int slot = 0; slot < itemHandler.getSlots(); slot++) {
-            ItemStack stackInSlot = itemHandler.getStackInSlot(slot);
-            if (stackInSlot.getCount() > 0) {
-                return false;
-            }
-        }
-        return true;
-    }
-
     private static Optional<Pair<IItemHandler, Object>> getAttachedItemHandler(Level level, BlockPos pos, Direction direction) {
         return getItemHandlerAt(level, pos.getX() + direction.getStepX() + 0.5, pos.getY() + direction.getStepY() + 0.5, pos.getZ() + direction.getStepZ() + 0.5, direction.getOpposite());
     }
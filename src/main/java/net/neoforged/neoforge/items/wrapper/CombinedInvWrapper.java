@@ -5,6 +5,7 @@
 
 package net.neoforged.neoforge.items.wrapper;
 
+import java.util.function.Predicate;
 import net.minecraft.world.item.ItemStack;
 import net.neoforged.neoforge.items.IItemHandlerModifiable;
 
@@ -89,6 +90,49 @@ public class CombinedInvWrapper implements IItemHandlerModifiable {
         return handler.extractItem(slot, amount, simulate);
     }
 
+    @Override
+    public boolean isEmpty() {
+        for (IItemHandlerModifiable handler : itemHandler) {
+            if (!handler.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean isFull() {
+        for (IItemHandlerModifiable handler : itemHandler) {
+            if (!handler.isFull()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public ItemStack extractMatching(Predicate<ItemStack> filter, int amount, boolean simulate) {
+        ItemStack extracted = ItemStack.EMPTY;
+        for (IItemHandlerModifiable handler : itemHandler) {
+            if (amount <= 0) {
+                break;
+            }
+
+            if (extracted.isEmpty()) {
+                extracted = handler.extractMatching(filter, amount, simulate);
+                if (!extracted.isEmpty()) {
+                    amount = Math.min(amount, extracted.getMaxStackSize()) - extracted.getCount();
+                }
+            } else {
+                ItemStack match = extracted;
+                ItemStack handlerExtracted = handler.extractMatching(stack -> ItemStack.isSameItemSameComponents(stack, match), amount, simulate);
+                extracted.grow(handlerExtracted.getCount());
+                amount -= handlerExtracted.getCount();
+            }
+        }
+        return extracted;
+    }
+
     @Override
     public int getSlotLimit(int slot) {
         int index = getIndexForSlot(slot);
@@ -139,6 +139,24 @@ public class InvWrapper implements IItemHandlerModifiable {
         }
     }
 
+    @Override
+    public boolean isEmpty() {
+        return getInv().isEmpty();
+    }
+
+    @Override
+    public boolean isFull() {
+        Container inv = getInv();
+        int slotLimit = inv.getMaxStackSize();
+        for (int slot = 0; slot < inv.getContainerSize(); slot++) {
+            ItemStack stackInSlot = inv.getItem(slot);
+            if (stackInSlot.getCount() < Math.min(stackInSlot.getMaxStackSize(), slotLimit)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     @Override
     public void setStackInSlot(int slot, ItemStack stack) {
         getInv().setItem(slot, stack);
@@ -7,6 +7,7 @@ package net.neoforged.neoforge.items.wrapper;
 
 import com.google.common.base.Preconditions;
 import net.minecraft.world.item.ItemStack;
+import net.neoforged.neoforge.items.IIndexedItemHandler;
 import net.neoforged.neoforge.items.IItemHandlerModifiable;
 
 /**
@@ -82,6 +83,37 @@ public class RangedWrapper implements IItemHandlerModifiable {
         return false;
     }
 
+    @Override
+    public boolean isEmpty() {
+        if (compose instanceof IIndexedItemHandler indexed) {
+            int slot = indexed.nextOccupiedSlot(minSlot);
+            return slot < 0 || slot >= maxSlot;
+        }
+
+        for (int slot = minSlot; slot < maxSlot; slot++) {
+            if (!compose.getStackInSlot(slot).isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean isFull() {
+        if (compose instanceof IIndexedItemHandler indexed) {
+            int slot = indexed.nextNonFullSlot(minSlot);
+            return slot < 0 || slot >= maxSlot;
+        }
+
+        for (int slot = minSlot; slot < maxSlot; slot++) {
+            ItemStack stackInSlot = compose.getStackInSlot(slot);
+            if (stackInSlot.isEmpty() || stackInSlot.getCount() < compose.getSlotLimit(slot)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private boolean checkSlot(int localSlot) {
         return localSlot + minSlot < maxSlot;
     }
@@ -24,6 +24,7 @@ import net.neoforged.neoforge.network.payload.CommonVersionPayload;
 import net.neoforged.neoforge.network.payload.ConfigFilePayload;
 import net.neoforged.neoforge.network.payload.FrozenRegistryPayload;
 import net.neoforged.neoforge.network.payload.FrozenRegistrySyncCompletedPayload;
+import net.neoforged.neoforge.network.payload.FrozenRegistrySyncReplyPayload;
 import net.neoforged.neoforge.network.payload.FrozenRegistrySyncStartPayload;
 import org.jetbrains.annotations.ApiStatus;
 
@@ -37,6 +38,7 @@ public class ConfigurationInitialization {
     public static void configureEarlyTasks(ServerConfigurationPacketListener listener, Consumer<ConfigurationTask> tasks) {
         if (listener.hasChannel(FrozenRegistrySyncStartPayload.TYPE) &&
                 listener.hasChannel(FrozenRegistryPayload.TYPE) &&
+                listener.hasChannel(FrozenRegistrySyncReplyPayload.TYPE) &&
                 listener.hasChannel(FrozenRegistrySyncCompletedPayload.TYPE)) {
             tasks.accept(new SyncRegistries());
         }
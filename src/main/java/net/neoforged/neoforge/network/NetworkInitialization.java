@@ -26,6 +26,7 @@ import net.neoforged.neoforge.network.payload.FeatureFlagAcknowledgePayload;
 import net.neoforged.neoforge.network.payload.FeatureFlagDataPayload;
 import net.neoforged.neoforge.network.payload.FrozenRegistryPayload;
 import net.neoforged.neoforge.network.payload.FrozenRegistrySyncCompletedPayload;
+import net.neoforged.neoforge.network.payload.FrozenRegistrySyncReplyPayload;
 import net.neoforged.neoforge.network.payload.FrozenRegistrySyncStartPayload;
 import net.neoforged.neoforge.network.payload.KnownRegistryDataMapsPayload;
 import net.neoforged.neoforge.network.payload.KnownRegistryDataMapsReplyPayload;
@@ -40,7 +41,7 @@ import org.jetbrains.annotations.ApiStatus;
 public class NetworkInitialization {
     @SubscribeEvent
     private static void register(final RegisterPayloadHandlersEvent event) {
-        final PayloadRegistrar registrar = event.registrar("1") // Update this version if the payload semantics change.
+        final PayloadRegistrar registrar = event.registrar("4") // Update this version if the payload semantics change.
                 .optional();
         registrar
                 .configurationToClient(
@@ -55,6 +56,10 @@ public class NetworkInitialization {
                         FrozenRegistryPayload.TYPE,
                         FrozenRegistryPayload.STREAM_CODEC,
                         ClientPayloadHandler::handle)
+                .configurationToServer(
+                        FrozenRegistrySyncReplyPayload.TYPE,
+                        FrozenRegistrySyncReplyPayload.STREAM_CODEC,
+                        ServerPayloadHandler::handle)
                 .configurationBidirectional(
                         FrozenRegistrySyncCompletedPayload.TYPE,
                         FrozenRegistrySyncCompletedPayload.STREAM_CODEC,
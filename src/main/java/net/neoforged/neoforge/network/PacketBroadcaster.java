@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) NeoForged and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.neoforged.neoforge.network;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import net.minecraft.network.CompressionDecoder;
+import net.minecraft.network.Connection;
+import net.minecraft.network.HandlerNames;
+import net.minecraft.network.PacketEncoder;
+import net.minecraft.network.ProtocolInfo;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.network.protocol.Packet;
+import net.minecraft.network.protocol.common.ClientboundCustomPayloadPacket;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.server.network.ServerGamePacketListenerImpl;
+import net.neoforged.neoforge.network.connection.ConnectionType;
+import net.neoforged.neoforge.network.registration.ChannelAttributes;
+import net.neoforged.neoforge.network.registration.NetworkChannel;
+import net.neoforged.neoforge.network.registration.NetworkPayloadSetup;
+import net.neoforged.neoforge.network.registration.NetworkRegistry;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Sends a payload to multiple players, encoding it only once per group of compatible connections.
+ *
+ * <p>Connections are grouped by protocol, connection type and negotiated channel version.
+ * The payload is encoded into a buffer for the first connection of each group, and the same buffer is written to the others,
+ * skipping the packet handlers of their pipelines.
+ * Connections without a packet encoder, such as in-memory connections, receive the packet as usual.
+ *
+ * <p>Must be {@link #release() released} once all the players were sent the payload.
+ */
+final class PacketBroadcaster {
+    private static final Logger LOGGER = LogManager.getLogger();
+    /**
+     * Encoded payloads above this size are sent as usual, such that they can be split by the packet splitter.
+     */
+    private static final int MAX_SHARED_SIZE = CompressionDecoder.MAXIMUM_COMPRESSED_LENGTH;
+
+    private final Packet<?> packet;
+    private final CustomPacketPayload payload;
+    private final List<Group> groups = new ArrayList<>(2);
+
+    PacketBroadcaster(CustomPacketPayload payload) {
+        this.payload = payload;
+        this.packet = new ClientboundCustomPayloadPacket(payload);
+    }
+
+    void send(ServerPlayer player) {
+        ServerGamePacketListenerImpl listener = player.connection;
+        Connection connection = listener.getConnection();
+        if (!connection.isConnected() || !(connection.channel().pipeline().get(HandlerNames.ENCODER) instanceof PacketEncoder<?> encoder)) {
+            listener.send(this.packet);
+            return;
+        }
+
+        // Perform the same validation as a regular send
+        NetworkRegistry.checkPacket(this.packet, listener);
+
+        ByteBuf encoded = this.getEncoded(connection, encoder);
+        if (encoded == null) {
+            listener.send(this.packet);
+            return;
+        }
+
+        ByteBuf data = encoded.retainedDuplicate();
+        Channel channel = connection.channel();
+        // Mirror ServerCommonPacketListenerImpl#send: flushing is only deferred while the server is ticking its children
+        boolean flush = !listener.isFlushingSuspended();
+        if (channel.eventLoop().inEventLoop()) {
+            write(channel, data, flush);
+        } else {
+            channel.eventLoop().execute(() -> write(channel, data, flush));
+        }
+    }
+
+    private static void write(Channel channel, ByteBuf data, boolean flush) {
+        ChannelFuture future = flush ? channel.writeAndFlush(data) : channel.write(data);
+        future.addListener(ChannelFutureListener.FIRE_EXCEPTION_ON_FAILURE);
+    }
+
+    /**
+     * {@return the payload encoded for the given connection, or {@code null} if it must be sent as a regular packet}
+     */
+    @Nullable
+    private ByteBuf getEncoded(Connection connection, PacketEncoder<?> encoder) {
+        var protocolInfo = encoder.getProtocolInfo();
+        ConnectionType connectionType = ChannelAttributes.getConnectionType(connection);
+        NetworkPayloadSetup payloadSetup = ChannelAttributes.getPayloadSetup(connection);
+        NetworkChannel channel = payloadSetup == null ? null : payloadSetup.getChannel(protocolInfo.id(), this.payload.type().id());
+        String version = channel == null ? null : channel.chosenVersion();
+
+        for (Group group : this.groups) {
+            if (group.protocolInfo.id() == protocolInfo.id() && group.protocolInfo.flow() == protocolInfo.flow()
+                    && group.connectionType == connectionType && Objects.equals(group.version, version)) {
+                return group.encoded;
+            }
+        }
+
+        ByteBuf encoded = connection.channel().alloc().directBuffer();
+        try {
+            @SuppressWarnings({ "unchecked", "rawtypes" }) // Eclipse requires the extra rawtype cast first.
+            var codec = (StreamCodec<ByteBuf, Packet<?>>) (StreamCodec) protocolInfo.codec();
+            codec.encode(encoded, this.packet);
+        } catch (RuntimeException e) {
+            // Let the regular pipeline report the error
+            LOGGER.debug("Failed to encode broadcast payload {}, sending it as a regular packet", this.payload.type().id(), e);
+            encoded.release();
+            encoded = null;
+        }
+
+        if (encoded != null && encoded.readableBytes() > MAX_SHARED_SIZE) {
+            encoded.release();
+            encoded = null;
+        }
+
+        this.groups.add(new Group(protocolInfo, connectionType, version, encoded));
+        return encoded;
+    }
+
+    void release() {
+        for (Group group : this.groups) {
+            if (group.encoded != null) {
+                group.encoded.release();
+            }
+        }
+        this.groups.clear();
+    }
+
+    private record Group(ProtocolInfo<?> protocolInfo, @Nullable ConnectionType connectionType, @Nullable String version, @Nullable ByteBuf encoded) {}
+}
@@ -55,7 +55,21 @@ public final class PacketDistributor {
      * Send the given payload(s) to all players in the given dimension
      */
     public static void sendToPlayersInDimension(ServerLevel level, CustomPacketPayload payload, CustomPacketPayload... payloads) {
-        level.getServer().getPlayerList().broadcastAll(makeClientboundPacket(payload, payloads), level.dimension());
+        if (payloads.length > 0) {
+            level.getServer().getPlayerList().broadcastAll(makeClientboundPacket(payload, payloads), level.dimension());
+            return;
+        }
+
+        PacketBroadcaster broadcaster = new PacketBroadcaster(payload);
+        try {
+            for (ServerPlayer player : level.getServer().getPlayerList().getPlayers()) {
+                if (player.level().dimension() == level.dimension()) {
+                    broadcaster.send(player);
+                }
+            }
+        } finally {
+            broadcaster.release();
+        }
     }
 
     /**
@@ -80,7 +94,12 @@ public final class PacketDistributor {
      */
     public static void sendToAllPlayers(CustomPacketPayload payload, CustomPacketPayload... payloads) {
         MinecraftServer server = Objects.requireNonNull(ServerLifecycleHooks.getCurrentServer(), "Cannot send clientbound payloads on the client");
-        server.getPlayerList().broadcastAll(makeClientboundPacket(payload, payloads));
+        if (payloads.length > 0) {
+            server.getPlayerList().broadcastAll(makeClientboundPacket(payload, payloads));
+            return;
+        }
+
+        broadcast(server.getPlayerList().getPlayers(), payload);
     }
 
     /**
@@ -111,9 +130,29 @@ public final class PacketDistributor {
      * Send the given payload(s) to all players tracking the chunk at the given position in the given level
      */
     public static void sendToPlayersTrackingChunk(ServerLevel level, ChunkPos chunkPos, CustomPacketPayload payload, CustomPacketPayload... payloads) {
-        Packet<?> packet = makeClientboundPacket(payload, payloads);
-        for (ServerPlayer player : level.getChunkSource().chunkMap.getPlayers(chunkPos, false)) {
-            player.connection.send(packet);
+        List<ServerPlayer> players = level.getChunkSource().chunkMap.getPlayers(chunkPos, false);
+        if (payloads.length > 0) {
+            Packet<?> packet = makeClientboundPacket(payload, payloads);
+            for (ServerPlayer player : players) {
+                player.connection.send(packet);
+            }
+            return;
+        }
+
+        broadcast(players, payload);
+    }
+
+    /**
+     * Sends a single payload to multiple players, encoding it once per group of compatible connections.
+     */
+    private static void broadcast(Iterable<ServerPlayer> players, CustomPacketPayload payload) {
+        PacketBroadcaster broadcaster = new PacketBroadcaster(payload);
+        try {
+            for (ServerPlayer player : players) {
+                broadcaster.send(player);
+            }
+        } finally {
+            broadcaster.release();
         }
     }
 
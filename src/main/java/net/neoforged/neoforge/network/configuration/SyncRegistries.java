@@ -9,13 +9,16 @@ import java.util.function.Consumer;
 import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
 import net.minecraft.resources.ResourceLocation;
 import net.neoforged.neoforge.internal.versions.neoforge.NeoForgeVersion;
-import net.neoforged.neoforge.network.payload.FrozenRegistrySyncCompletedPayload;
 import net.neoforged.neoforge.network.payload.FrozenRegistrySyncStartPayload;
 import net.neoforged.neoforge.registries.RegistryManager;
 import org.jetbrains.annotations.ApiStatus;
 
 /**
- * Syncs registries to the client
+ * Syncs registries to the client.
+ * <p>
+ * The server first announces the hash of each registry, and only sends the registries that the client
+ * didn't {@linkplain net.neoforged.neoforge.registries.RegistrySnapshotCache cache} once it replied.
+ * </p>
  */
 @ApiStatus.Internal
 public record SyncRegistries() implements ICustomConfigurationTask {
@@ -24,9 +27,7 @@ public record SyncRegistries() implements ICustomConfigurationTask {
 
     @Override
     public void run(Consumer<CustomPacketPayload> sender) {
-        sender.accept(new FrozenRegistrySyncStartPayload(RegistryManager.getRegistryNamesForSyncToClient()));
-        RegistryManager.generateRegistryPackets(false).forEach(sender);
-        sender.accept(FrozenRegistrySyncCompletedPayload.INSTANCE);
+        sender.accept(new FrozenRegistrySyncStartPayload(RegistryManager.getRegistryNamesForSyncToClient(), RegistryManager.getSyncSnapshotHashes()));
     }
 
     @Override
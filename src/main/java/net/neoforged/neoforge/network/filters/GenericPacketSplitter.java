@@ -6,10 +6,10 @@
 package net.neoforged.neoforge.network.filters;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.MessageToMessageEncoder;
-import java.util.ArrayList;
 import java.util.List;
 import net.minecraft.network.CompressionDecoder;
 import net.minecraft.network.Connection;
@@ -28,10 +28,12 @@ import net.neoforged.neoforge.internal.versions.neoforge.NeoForgeVersion;
 import net.neoforged.neoforge.network.event.RegisterPayloadHandlersEvent;
 import net.neoforged.neoforge.network.handling.IPayloadContext;
 import net.neoforged.neoforge.network.payload.SplitPacketPayload;
+import net.neoforged.neoforge.network.registration.HandlerThread;
 import net.neoforged.neoforge.network.registration.NetworkRegistry;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * A generic packet splitter that can be used to split packets that are too large to be sent in one go.
@@ -55,11 +57,19 @@ public class GenericPacketSplitter extends MessageToMessageEncoder<Packet<?>> im
     private static final byte STATE_FIRST = 1;
     private static final byte STATE_LAST = 2;
 
+    /**
+     * Maximum size of a packet that is reassembled from split packets, in bytes.
+     * Bounds the memory used by the reassembly of each connection.
+     */
+    private static final int MAX_RECEIVED_SIZE = Integer.getInteger("neoforge.network.maxSplitPacketSize", 64 * 1024 * 1024);
+
     public static final String CHANNEL_HANDLER_NAME = "neoforge:splitter";
 
     @SubscribeEvent
     private static void register(final RegisterPayloadHandlersEvent event) {
+        // Handled on the network thread, such that the parts are reassembled in the order they were received
         event.registrar("1")
+                .executesOn(HandlerThread.NETWORK)
                 .optional()
                 .commonBidirectional(SplitPacketPayload.TYPE, SplitPacketPayload.STREAM_CODEC, GenericPacketSplitter::handle);
     }
@@ -97,7 +107,7 @@ public class GenericPacketSplitter extends MessageToMessageEncoder<Packet<?>> im
         // If there IS a compressor, use the NON-compressed limit since the compressor will compress after us!
         var sizeLimits = hasCompressor ? uncompressedSizeLimits : compressedSizeLimits;
 
-        FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.buffer());
+        ByteBuf buf = ctx.alloc().directBuffer();
         try {
             @SuppressWarnings({ "unchecked", "rawtypes" }) // Eclipse requires the extra rawtype cast first.
             var codec = (StreamCodec<ByteBuf, Packet<?>>) (StreamCodec) encoder.getProtocolInfo().codec();
@@ -113,56 +123,80 @@ public class GenericPacketSplitter extends MessageToMessageEncoder<Packet<?>> im
                 return;
             }
 
-            final byte[] packetData = buf.array();
+            // Each part gets its own unpooled copy of its slice, such that the pooled buffer is released right away,
+            // and parts that are never written (e.g. because the channel was closed) don't leak pooled memory
             for (int part = 0; part < parts; part++) {
-                final int partSize = Math.min(sizeLimits.part(), packetData.length - (part * sizeLimits.part()));
-                final byte[] payloadSlice = new byte[partSize + 1];
-
-                byte prefix = part == 0 ? STATE_FIRST : part == parts - 1 ? STATE_LAST : 0;
-                payloadSlice[0] = prefix;
-                System.arraycopy(packetData, part * sizeLimits.part(), payloadSlice, 1, partSize);
-
-                out.add(createPacket(encoder.getProtocolInfo().flow(), payloadSlice));
+                final int partSize = Math.min(sizeLimits.part(), buf.readableBytes());
+                byte state = part == 0 ? STATE_FIRST : part == parts - 1 ? STATE_LAST : 0;
+                ByteBuf data = Unpooled.buffer(partSize);
+                buf.readBytes(data, partSize);
+                out.add(createPacket(encoder.getProtocolInfo().flow(), new SplitPacketPayload(state, data)));
             }
         } finally {
             buf.release();
         }
     }
 
-    private final List<byte[]> receivedBuffers = new ArrayList<>();
+    /**
+     * The parts of the packet being received. Only the first {@link #MAX_RECEIVED_SIZE} bytes of a packet are buffered per connection.
+     */
+    @Nullable
+    private CompositeByteBuf receivedBuffer;
 
-    private void receivedPacket(SplitPacketPayload payload, IPayloadContext context) {
-        byte state = payload.payload()[0];
+    private synchronized void receivedPacket(SplitPacketPayload payload, IPayloadContext context) {
+        ByteBuf data = payload.data();
+        byte state = payload.state();
         if (state == STATE_FIRST) {
-            if (!receivedBuffers.isEmpty()) {
+            if (receivedBuffer != null) {
                 LOGGER.warn("neoforge:split received out of order - inbound buffer not empty when receiving first");
-                receivedBuffers.clear();
+                releaseReceivedBuffer();
             }
         }
 
-        int contentSize = payload.payload().length - 1;
-        byte[] buffer = new byte[contentSize];
-        System.arraycopy(payload.payload(), 1, buffer, 0, contentSize); // We cut of the initial byte here that indicates the state
-        receivedBuffers.add(buffer);
+        if (receivedBuffer == null) {
+            // The components are not consolidated, as it would copy them
+            receivedBuffer = context.channelHandlerContext().alloc().compositeBuffer(Integer.MAX_VALUE);
+        }
+        // The composite buffer takes ownership of the part
+        receivedBuffer.addComponent(true, data);
+
+        if (receivedBuffer.readableBytes() > MAX_RECEIVED_SIZE) {
+            LOGGER.error("Received split packet larger than the maximum of {} bytes", MAX_RECEIVED_SIZE);
+            releaseReceivedBuffer();
+            context.disconnect(Component.translatable("neoforge.network.packet_splitter.too_large", MAX_RECEIVED_SIZE));
+            return;
+        }
 
         if (state == STATE_LAST) {
-            final byte[][] buffers = receivedBuffers.toArray(new byte[0][]);
-            FriendlyByteBuf full = new FriendlyByteBuf(Unpooled.wrappedBuffer(buffers));
+            FriendlyByteBuf full = new FriendlyByteBuf(receivedBuffer);
+            receivedBuffer = null;
 
             try {
                 Packet<?> packet = context.connection().getInboundProtocol().codec().decode(full);
                 context.enqueueWork(() -> context.handle(packet));
             } finally {
-                receivedBuffers.clear();
                 full.release();
             }
         }
     }
 
-    private static Packet<?> createPacket(PacketFlow flow, byte[] payload) {
+    private void releaseReceivedBuffer() {
+        if (receivedBuffer != null) {
+            receivedBuffer.release();
+            receivedBuffer = null;
+        }
+    }
+
+    @Override
+    public synchronized void handlerRemoved(ChannelHandlerContext ctx) throws Exception {
+        releaseReceivedBuffer();
+        super.handlerRemoved(ctx);
+    }
+
+    private static Packet<?> createPacket(PacketFlow flow, SplitPacketPayload payload) {
         return switch (flow) {
-            case SERVERBOUND -> new ServerboundCustomPayloadPacket(new SplitPacketPayload(payload));
-            case CLIENTBOUND -> new ClientboundCustomPayloadPacket(new SplitPacketPayload(payload));
+            case SERVERBOUND -> new ServerboundCustomPayloadPacket(payload);
+            case CLIENTBOUND -> new ClientboundCustomPayloadPacket(payload);
         };
     }
 
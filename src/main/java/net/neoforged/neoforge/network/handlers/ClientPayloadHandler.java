@@ -8,6 +8,8 @@ package net.neoforged.neoforge.network.handlers;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import io.netty.buffer.Unpooled;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -37,9 +39,11 @@ import net.neoforged.neoforge.network.payload.ClientboundCustomSetTimePayload;
 import net.neoforged.neoforge.network.payload.ConfigFilePayload;
 import net.neoforged.neoforge.network.payload.FrozenRegistryPayload;
 import net.neoforged.neoforge.network.payload.FrozenRegistrySyncCompletedPayload;
+import net.neoforged.neoforge.network.payload.FrozenRegistrySyncReplyPayload;
 import net.neoforged.neoforge.network.payload.FrozenRegistrySyncStartPayload;
 import net.neoforged.neoforge.registries.RegistryManager;
 import net.neoforged.neoforge.registries.RegistrySnapshot;
+import net.neoforged.neoforge.registries.RegistrySnapshotCache;
 import org.jetbrains.annotations.ApiStatus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -49,6 +53,10 @@ public final class ClientPayloadHandler {
     private static final Logger LOGGER = LoggerFactory.getLogger(ClientPayloadHandler.class);
     private static final Set<ResourceLocation> toSynchronize = Sets.newConcurrentHashSet();
     private static final Map<ResourceLocation, RegistrySnapshot> synchronizedRegistries = Maps.newConcurrentMap();
+    /**
+     * The hashes announced by the server for the registries that weren't cached, used to cache them once received.
+     */
+    private static final Map<ResourceLocation, String> uncachedRegistryHashes = Maps.newConcurrentMap();
 
     private ClientPayloadHandler() {}
 
@@ -60,6 +68,24 @@ public final class ClientPayloadHandler {
     public static void handle(FrozenRegistrySyncStartPayload payload, IPayloadContext context) {
         toSynchronize.addAll(payload.toAccess());
         synchronizedRegistries.clear();
+        uncachedRegistryHashes.clear();
+
+        List<ResourceLocation> cached = new ArrayList<>();
+        payload.hashes().forEach((registryName, hash) -> {
+            if (!toSynchronize.contains(registryName)) {
+                return;
+            }
+
+            RegistrySnapshot snapshot = RegistrySnapshotCache.load(hash);
+            if (snapshot != null) {
+                synchronizedRegistries.put(registryName, snapshot);
+                toSynchronize.remove(registryName);
+                cached.add(registryName);
+            } else {
+                uncachedRegistryHashes.put(registryName, hash);
+            }
+        });
+        context.reply(new FrozenRegistrySyncReplyPayload(cached));
     }
 
     public static void handle(FrozenRegistrySyncCompletedPayload payload, IPayloadContext context) {
@@ -76,8 +102,18 @@ public final class ClientPayloadHandler {
                 return;
             }
 
+            List<RegistrySnapshot> toCache = new ArrayList<>();
+            uncachedRegistryHashes.forEach((registryName, hash) -> {
+                RegistrySnapshot snapshot = synchronizedRegistries.get(registryName);
+                if (snapshot != null && snapshot.getHash().equals(hash)) {
+                    toCache.add(snapshot);
+                }
+            });
+            RegistrySnapshotCache.saveAsync(toCache);
+
             toSynchronize.clear();
             synchronizedRegistries.clear();
+            uncachedRegistryHashes.clear();
             context.reply(FrozenRegistrySyncCompletedPayload.INSTANCE);
         } catch (Throwable t) {
             LOGGER.error("Failed to handle registry sync from server.", t);
@@ -136,7 +172,7 @@ public final class ClientPayloadHandler {
 
             AuxiliaryLightManager lightManager = mc.level.getAuxLightManager(msg.pos());
             if (lightManager instanceof LevelChunkAuxiliaryLightManager manager) {
-                manager.handleLightDataSync(msg.entries());
+                manager.handleLightDataSync(msg);
             }
         } catch (Throwable t) {
             LOGGER.error("Failed to handle auxiliary light data from server.", t);
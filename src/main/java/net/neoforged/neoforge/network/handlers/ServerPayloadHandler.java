@@ -5,15 +5,23 @@
 
 package net.neoforged.neoforge.network.handlers;
 
+import java.util.HashSet;
 import net.neoforged.neoforge.network.configuration.SyncRegistries;
 import net.neoforged.neoforge.network.handling.IPayloadContext;
 import net.neoforged.neoforge.network.payload.FrozenRegistrySyncCompletedPayload;
+import net.neoforged.neoforge.network.payload.FrozenRegistrySyncReplyPayload;
+import net.neoforged.neoforge.registries.RegistryManager;
 import org.jetbrains.annotations.ApiStatus;
 
 @ApiStatus.Internal
 public final class ServerPayloadHandler {
     private ServerPayloadHandler() {}
 
+    public static void handle(FrozenRegistrySyncReplyPayload payload, IPayloadContext context) {
+        RegistryManager.generateRegistryPackets(false, new HashSet<>(payload.cached())).forEach(context::reply);
+        context.reply(FrozenRegistrySyncCompletedPayload.INSTANCE);
+    }
+
     public static void handle(FrozenRegistrySyncCompletedPayload payload, IPayloadContext context) {
         context.finishCurrentTask(SyncRegistries.TYPE);
     }
@@ -0,0 +1,20 @@
+/*
+ * Copyright (c) NeoForged and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.neoforged.neoforge.network.handling;
+
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.neoforged.neoforge.network.registration.HandlerThread;
+import net.neoforged.neoforge.network.registration.NetworkRegistry;
+
+/**
+ * Helper class that always executes the wrapped handler on the {@link HandlerThread#WORKER worker threads}.
+ */
+public record WorkerThreadPayloadHandler<T extends CustomPacketPayload>(IPayloadHandler<T> handler) implements IPayloadHandler<T> {
+    @Override
+    public void handle(T payload, IPayloadContext context) {
+        NetworkRegistry.handleOnWorker(payload, context, () -> this.handler().handle(payload, context));
+    }
+}
@@ -5,11 +5,11 @@
 
 package net.neoforged.neoforge.network.payload;
 
-import java.util.HashMap;
-import java.util.Map;
+import io.netty.handler.codec.DecoderException;
+import it.unimi.dsi.fastutil.bytes.ByteArrayList;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
 import net.minecraft.core.BlockPos;
-import net.minecraft.network.RegistryFriendlyByteBuf;
-import net.minecraft.network.codec.ByteBufCodecs;
+import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.network.codec.StreamCodec;
 import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
 import net.minecraft.resources.ResourceLocation;
@@ -18,18 +18,84 @@ import net.neoforged.neoforge.internal.versions.neoforge.NeoForgeVersion;
 import net.neoforged.neoforge.network.codec.NeoForgeStreamCodecs;
 import org.jetbrains.annotations.ApiStatus;
 
+/**
+ * Auxiliary light values of a chunk.
+ * <p>
+ * Positions are packed relative to the chunk, with the Y coordinate in the upper bits and the X and Z coordinates in the lower byte,
+ * and written as var ints followed by the light level.
+ * </p>
+ *
+ * @param pos       The position of the chunk.
+ * @param replace   Whether the values replace all the values of the chunk, or only update the given positions.
+ * @param positions The packed positions.
+ * @param levels    The light level at each position, {@code 0} if the light was removed.
+ */
 @ApiStatus.Internal
-public record AuxiliaryLightDataPayload(ChunkPos pos, Map<BlockPos, Byte> entries) implements CustomPacketPayload {
+public record AuxiliaryLightDataPayload(ChunkPos pos, boolean replace, int[] positions, byte[] levels) implements CustomPacketPayload {
     public static final Type<AuxiliaryLightDataPayload> TYPE = new Type<>(ResourceLocation.fromNamespaceAndPath(NeoForgeVersion.MOD_ID, "auxiliary_light_data"));
-    public static final StreamCodec<RegistryFriendlyByteBuf, AuxiliaryLightDataPayload> STREAM_CODEC = StreamCodec.composite(
-            NeoForgeStreamCodecs.CHUNK_POS,
-            AuxiliaryLightDataPayload::pos,
-            ByteBufCodecs.map(HashMap::new, BlockPos.STREAM_CODEC, ByteBufCodecs.BYTE),
-            AuxiliaryLightDataPayload::entries,
-            AuxiliaryLightDataPayload::new);
+    public static final StreamCodec<FriendlyByteBuf, AuxiliaryLightDataPayload> STREAM_CODEC = StreamCodec.ofMember(
+            AuxiliaryLightDataPayload::write,
+            AuxiliaryLightDataPayload::read);
+
+    private static AuxiliaryLightDataPayload read(FriendlyByteBuf buf) {
+        ChunkPos pos = NeoForgeStreamCodecs.CHUNK_POS.decode(buf);
+        boolean replace = buf.readBoolean();
+        int size = buf.readVarInt();
+        // Each entry takes at least two bytes
+        if (size < 0 || size > buf.readableBytes() / 2) {
+            throw new DecoderException("Invalid auxiliary light entry count: " + size);
+        }
+
+        int[] positions = new int[size];
+        byte[] levels = new byte[size];
+        for (int i = 0; i < size; i++) {
+            positions[i] = buf.readVarInt();
+            levels[i] = buf.readByte();
+        }
+        return new AuxiliaryLightDataPayload(pos, replace, positions, levels);
+    }
+
+    private void write(FriendlyByteBuf buf) {
+        NeoForgeStreamCodecs.CHUNK_POS.encode(buf, this.pos);
+        buf.writeBoolean(this.replace);
+        buf.writeVarInt(this.positions.length);
+        for (int i = 0; i < this.positions.length; i++) {
+            buf.writeVarInt(this.positions[i]);
+            buf.writeByte(this.levels[i]);
+        }
+    }
+
+    /**
+     * Unpacks the position of the given entry into the mutable position.
+     */
+    public BlockPos.MutableBlockPos getPos(int index, BlockPos.MutableBlockPos pos) {
+        int packed = this.positions[index];
+        return pos.set(this.pos.getBlockX(packed & 15), packed >> 8, this.pos.getBlockZ(packed >> 4 & 15));
+    }
 
     @Override
     public Type<AuxiliaryLightDataPayload> type() {
         return TYPE;
     }
+
+    public static final class Builder {
+        private final ChunkPos pos;
+        private final boolean replace;
+        private final IntArrayList positions = new IntArrayList();
+        private final ByteArrayList levels = new ByteArrayList();
+
+        public Builder(ChunkPos pos, boolean replace) {
+            this.pos = pos;
+            this.replace = replace;
+        }
+
+        public void add(int x, int y, int z, int level) {
+            this.positions.add(y << 8 | (z & 15) << 4 | (x & 15));
+            this.levels.add((byte) level);
+        }
+
+        public AuxiliaryLightDataPayload build() {
+            return new AuxiliaryLightDataPayload(this.pos, this.replace, this.positions.toIntArray(), this.levels.toByteArray());
+        }
+    }
 }
@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) NeoForged and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.neoforged.neoforge.network.payload;
+
+import java.util.List;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.codec.ByteBufCodecs;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.resources.ResourceLocation;
+import net.neoforged.neoforge.internal.versions.neoforge.NeoForgeVersion;
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * Packet payload sent to the server in reply to a {@link FrozenRegistrySyncStartPayload}.
+ * <p>
+ * It indicates to the server which registries the client already has a cached snapshot for, with the announced hash.
+ * </p>
+ *
+ * @param cached The registries that don't need to be sent.
+ */
+@ApiStatus.Internal
+public record FrozenRegistrySyncReplyPayload(List<ResourceLocation> cached) implements CustomPacketPayload {
+    public static final Type<FrozenRegistrySyncReplyPayload> TYPE = new Type<>(ResourceLocation.fromNamespaceAndPath(NeoForgeVersion.MOD_ID, "frozen_registry_sync_reply"));
+    public static final StreamCodec<FriendlyByteBuf, FrozenRegistrySyncReplyPayload> STREAM_CODEC = StreamCodec.composite(
+            ResourceLocation.STREAM_CODEC.apply(ByteBufCodecs.list()),
+            FrozenRegistrySyncReplyPayload::cached,
+            FrozenRegistrySyncReplyPayload::new);
+
+    @Override
+    public Type<FrozenRegistrySyncReplyPayload> type() {
+        return TYPE;
+    }
+}
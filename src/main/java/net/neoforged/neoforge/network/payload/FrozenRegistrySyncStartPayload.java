@@ -5,7 +5,9 @@
 
 package net.neoforged.neoforge.network.payload;
 
+import com.google.common.collect.Maps;
 import java.util.List;
+import java.util.Map;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.network.codec.ByteBufCodecs;
 import net.minecraft.network.codec.StreamCodec;
@@ -17,17 +19,22 @@ import org.jetbrains.annotations.ApiStatus;
 /**
  * Packet payload sent to the client to start the frozen registry sync.
  * <p>
- * It indicates to the client which registries it should expect to receive.
+ * It indicates to the client which registries it should expect to receive, and the content hash of each of them.
+ * The client replies with a {@link FrozenRegistrySyncReplyPayload} listing the registries it already has a cached snapshot for,
+ * and the server then only sends the other registries.
  * </p>
  * 
  * @param toAccess The registries to access.
+ * @param hashes   The {@linkplain net.neoforged.neoforge.registries.RegistrySnapshot#getHash() hash} of the snapshot of each registry.
  */
 @ApiStatus.Internal
-public record FrozenRegistrySyncStartPayload(List<ResourceLocation> toAccess) implements CustomPacketPayload {
+public record FrozenRegistrySyncStartPayload(List<ResourceLocation> toAccess, Map<ResourceLocation, String> hashes) implements CustomPacketPayload {
     public static final Type<FrozenRegistrySyncStartPayload> TYPE = new Type<>(ResourceLocation.fromNamespaceAndPath(NeoForgeVersion.MOD_ID, "frozen_registry_sync_start"));
     public static final StreamCodec<FriendlyByteBuf, FrozenRegistrySyncStartPayload> STREAM_CODEC = StreamCodec.composite(
             ResourceLocation.STREAM_CODEC.apply(ByteBufCodecs.list()),
             FrozenRegistrySyncStartPayload::toAccess,
+            ByteBufCodecs.map(Maps::newHashMapWithExpectedSize, ResourceLocation.STREAM_CODEC, ByteBufCodecs.STRING_UTF8),
+            FrozenRegistrySyncStartPayload::hashes,
             FrozenRegistrySyncStartPayload::new);
 
     @Override
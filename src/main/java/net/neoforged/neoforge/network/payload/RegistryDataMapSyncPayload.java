@@ -10,10 +10,14 @@ import com.google.gson.JsonElement;
 import com.mojang.serialization.Codec;
 import com.mojang.serialization.DataResult;
 import com.mojang.serialization.JsonOps;
+import io.netty.buffer.Unpooled;
 import io.netty.handler.codec.DecoderException;
 import io.netty.handler.codec.EncoderException;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 import net.minecraft.core.Registry;
+import net.minecraft.core.RegistryAccess;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.network.RegistryFriendlyByteBuf;
 import net.minecraft.network.codec.StreamCodec;
@@ -21,35 +25,121 @@ import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
 import net.minecraft.resources.ResourceKey;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.util.GsonHelper;
+import net.neoforged.neoforge.network.connection.ConnectionType;
 import net.neoforged.neoforge.registries.RegistryManager;
 import net.neoforged.neoforge.registries.datamaps.DataMapType;
 import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
 
+/**
+ * Syncs the data maps of a registry to the client.
+ * <p>
+ * The payload either replaces all the synced data maps of the registry, or only updates the entries of the data maps that changed in a reload.
+ * Since the same payload is usually sent to many players, its encoded form is computed once and shared between connections.
+ * </p>
+ */
 @ApiStatus.Internal
 @SuppressWarnings({ "unchecked", "rawtypes" })
-public record RegistryDataMapSyncPayload<T>(ResourceKey<? extends Registry<T>> registryKey,
-        Map<ResourceLocation, Map<ResourceKey<T>, ?>> dataMaps) implements CustomPacketPayload {
+public final class RegistryDataMapSyncPayload<T> implements CustomPacketPayload {
     public static final CustomPacketPayload.Type<RegistryDataMapSyncPayload<?>> TYPE = new Type<>(ResourceLocation.fromNamespaceAndPath("neoforge", "registry_data_map_sync"));
     public static final StreamCodec<RegistryFriendlyByteBuf, RegistryDataMapSyncPayload<?>> STREAM_CODEC = StreamCodec.ofMember(
             RegistryDataMapSyncPayload::write, RegistryDataMapSyncPayload::decode);
 
+    private final ResourceKey<? extends Registry<T>> registryKey;
+    private final boolean replace;
+    private final Map<ResourceLocation, Map<ResourceKey<T>, ?>> dataMaps;
+    private final Map<ResourceLocation, Set<ResourceKey<T>>> removals;
+    @Nullable
+    private byte[] encoded;
+    @Nullable
+    private RegistryAccess encodedWith;
+    @Nullable
+    private ConnectionType encodedFor;
+
+    /**
+     * Creates a payload replacing all the synced data maps of the registry.
+     */
+    public RegistryDataMapSyncPayload(ResourceKey<? extends Registry<T>> registryKey, Map<ResourceLocation, Map<ResourceKey<T>, ?>> dataMaps) {
+        this(registryKey, true, dataMaps, Map.of());
+    }
+
+    /**
+     * @param registryKey the key of the registry
+     * @param replace     whether the data maps replace all the synced data maps of the registry,
+     *                    or only update the given entries of the existing data maps
+     * @param dataMaps    the entries of each data map
+     * @param removals    the keys to remove from each data map, only used if {@code replace} is {@code false}
+     */
+    public RegistryDataMapSyncPayload(ResourceKey<? extends Registry<T>> registryKey, boolean replace,
+            Map<ResourceLocation, Map<ResourceKey<T>, ?>> dataMaps, Map<ResourceLocation, Set<ResourceKey<T>>> removals) {
+        this.registryKey = registryKey;
+        this.replace = replace;
+        this.dataMaps = dataMaps;
+        this.removals = removals;
+    }
+
     public static <T> RegistryDataMapSyncPayload<T> decode(RegistryFriendlyByteBuf buf) {
         //noinspection RedundantCast javac complains about this cast
         final ResourceKey<Registry<T>> registryKey = (ResourceKey<Registry<T>>) (Object) buf.readRegistryKey();
+        final boolean replace = buf.readBoolean();
         final Map<ResourceLocation, Map<ResourceKey<T>, ?>> attach = buf.readMap(FriendlyByteBuf::readResourceLocation, (b1, key) -> {
             final DataMapType<T, ?> dataMap = RegistryManager.getDataMap(registryKey, key);
             return b1.readMap(bf -> bf.readResourceKey(registryKey), bf -> readJsonWithRegistryCodec((RegistryFriendlyByteBuf) bf, dataMap.networkCodec()));
         });
-        return new RegistryDataMapSyncPayload<>(registryKey, attach);
+        final Map<ResourceLocation, Set<ResourceKey<T>>> removals = buf.readMap(FriendlyByteBuf::readResourceLocation, b1 -> b1.readCollection(HashSet::new, bf -> bf.readResourceKey(registryKey)));
+        return new RegistryDataMapSyncPayload<>(registryKey, replace, attach, removals);
     }
 
     public void write(RegistryFriendlyByteBuf buf) {
+        final byte[] bytes;
+        synchronized (this) {
+            // Encoding the values goes through JSON, so only do it once for all the players the payload is sent to.
+            // The codecs may depend on the connection type, so vanilla and NeoForge connections don't share the encoded form.
+            if (encoded == null || encodedWith != buf.registryAccess() || encodedFor != buf.getConnectionType()) {
+                final RegistryFriendlyByteBuf encodeBuf = new RegistryFriendlyByteBuf(Unpooled.buffer(), buf.registryAccess(), buf.getConnectionType());
+                try {
+                    encode(encodeBuf);
+                    encoded = new byte[encodeBuf.readableBytes()];
+                    encodeBuf.readBytes(encoded);
+                    encodedWith = buf.registryAccess();
+                    encodedFor = buf.getConnectionType();
+                } finally {
+                    encodeBuf.release();
+                }
+            }
+            bytes = encoded;
+        }
+        buf.writeBytes(bytes);
+    }
+
+    private void encode(RegistryFriendlyByteBuf buf) {
         buf.writeResourceKey(registryKey);
+        buf.writeBoolean(replace);
         buf.writeMap(dataMaps, FriendlyByteBuf::writeResourceLocation, (b1, key, attach) -> {
             final DataMapType<T, ?> dataMap = RegistryManager.getDataMap(registryKey, key);
             // TODO - make datamaps use stream codecs once datapack registries use them too
             b1.writeMap(attach, FriendlyByteBuf::writeResourceKey, (bf, value) -> writeJsonWithRegistryCodec((RegistryFriendlyByteBuf) bf, (Codec) dataMap.networkCodec(), value));
         });
+        buf.writeMap(removals, FriendlyByteBuf::writeResourceLocation, (b1, keys) -> b1.writeCollection(keys, FriendlyByteBuf::writeResourceKey));
+    }
+
+    public ResourceKey<? extends Registry<T>> registryKey() {
+        return registryKey;
+    }
+
+    /**
+     * {@return whether the data maps replace all the synced data maps of the registry}
+     */
+    public boolean replace() {
+        return replace;
+    }
+
+    public Map<ResourceLocation, Map<ResourceKey<T>, ?>> dataMaps() {
+        return dataMaps;
+    }
+
+    public Map<ResourceLocation, Set<ResourceKey<T>>> removals() {
+        return removals;
     }
 
     @Override
@@ -5,29 +5,54 @@
 
 package net.neoforged.neoforge.network.payload;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.DecoderException;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.network.codec.StreamCodec;
 import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
 import net.minecraft.resources.ResourceLocation;
 import net.neoforged.neoforge.internal.versions.neoforge.NeoForgeVersion;
-import net.neoforged.neoforge.network.codec.NeoForgeStreamCodecs;
 import org.jetbrains.annotations.ApiStatus;
 
 /**
  * A payload that is used to split a packet into multiple payloads.
  * <p>
  * This single payload will contain a slice of the original packet.
+ * The slice is copied into its own unpooled heap buffer, both when splitting and when receiving, such that it doesn't need to be released:
+ * a part that is never written or never handled, for example because the connection was closed, does not leak pooled memory.
  * </p>
- * 
- * @param payload The slice of the original packet.
+ * <p>
+ * On the wire, the state and the slice are written as a single length-prefixed byte array.
+ * </p>
+ *
+ * @param state The state of this part, indicating if it is the first or last part of the original packet.
+ * @param data  The slice of the original packet.
  */
 @ApiStatus.Internal
-public record SplitPacketPayload(byte[] payload) implements CustomPacketPayload {
+public record SplitPacketPayload(byte state, ByteBuf data) implements CustomPacketPayload {
     public static final Type<SplitPacketPayload> TYPE = new Type<>(ResourceLocation.fromNamespaceAndPath(NeoForgeVersion.MOD_ID, "split"));
-    public static final StreamCodec<FriendlyByteBuf, SplitPacketPayload> STREAM_CODEC = StreamCodec.composite(
-            NeoForgeStreamCodecs.UNBOUNDED_BYTE_ARRAY,
-            SplitPacketPayload::payload,
-            SplitPacketPayload::new);
+    public static final StreamCodec<FriendlyByteBuf, SplitPacketPayload> STREAM_CODEC = StreamCodec.ofMember(
+            SplitPacketPayload::write,
+            SplitPacketPayload::read);
+
+    private static SplitPacketPayload read(FriendlyByteBuf buf) {
+        int length = buf.readVarInt();
+        if (length < 1 || length > buf.readableBytes()) {
+            throw new DecoderException("Invalid split packet length: " + length);
+        }
+
+        byte state = buf.readByte();
+        ByteBuf data = Unpooled.buffer(length - 1);
+        buf.readBytes(data, length - 1);
+        return new SplitPacketPayload(state, data);
+    }
+
+    private void write(FriendlyByteBuf buf) {
+        buf.writeVarInt(this.data.readableBytes() + 1);
+        buf.writeByte(this.state);
+        buf.writeBytes(this.data, this.data.readerIndex(), this.data.readableBytes());
+    }
 
     @Override
     public Type<SplitPacketPayload> type() {
@@ -47,6 +47,11 @@ public class ChannelAttributes {
      */
     public static final AttributeKey<ConnectionType> CONNECTION_TYPE = AttributeKey.valueOf("neoforge:connection_type");
 
+    /**
+     * The queue of payloads handled on {@link HandlerThread#WORKER worker threads}.
+     */
+    public static final AttributeKey<PayloadWorkQueue> PAYLOAD_WORK_QUEUE = AttributeKey.valueOf("neoforge:payload_work_queue");
+
     @Nullable
     public static NetworkPayloadSetup getPayloadSetup(Connection connection) {
         return connection.channel().attr(PAYLOAD_SETUP).get();
@@ -92,4 +97,22 @@ public class ChannelAttributes {
 
         return channels.computeIfAbsent(protocol, p -> new HashSet<>());
     }
+
+    /**
+     * Returns the queue of payloads handled on {@link HandlerThread#WORKER worker threads}.
+     */
+    public static PayloadWorkQueue getOrCreatePayloadWorkQueue(Connection connection) {
+        var attribute = connection.channel().attr(PAYLOAD_WORK_QUEUE);
+        PayloadWorkQueue queue = attribute.get();
+
+        if (queue == null) {
+            PayloadWorkQueue newQueue = new PayloadWorkQueue(connection);
+            queue = attribute.setIfAbsent(newQueue);
+            if (queue == null) {
+                queue = newQueue;
+            }
+        }
+
+        return queue;
+    }
 }
@@ -23,5 +23,17 @@ public enum HandlerThread {
     /**
      * The network thread, which executes concurrently to the main thread.
      */
-    NETWORK;
+    NETWORK,
+
+    /**
+     * A pool of worker threads shared by all connections, which executes concurrently to the main thread and the network thread.
+     * <p>
+     * The payloads of a connection are handled one at a time, in the order they were received.
+     * Ordering is not preserved relative to payloads handled on other threads.
+     * If a connection sends payloads faster than they can be handled, reading from the connection is paused until its queue drains.
+     * <p>
+     * Handlers must be thread-safe, and should use {@link net.neoforged.neoforge.network.handling.IPayloadContext#enqueueWork(Runnable)}
+     * to apply their results on the main thread.
+     */
+    WORKER;
 }
@@ -425,6 +425,19 @@ public class NetworkRegistry {
         return true;
     }
 
+    /**
+     * Queues the handling of a payload on the {@link HandlerThread#WORKER worker threads}.
+     * <p>
+     * Payloads received by the same connection are handled in the order they were queued.
+     *
+     * @param payload The payload being handled.
+     * @param context The context of the payload.
+     * @param task    The task handling the payload.
+     */
+    public static void handleOnWorker(CustomPacketPayload payload, IPayloadContext context, Runnable task) {
+        ChannelAttributes.getOrCreatePayloadWorkQueue(context.connection()).submit(payload.type().id(), context, task);
+    }
+
     /**
      * Validates that a {@link ClientboundCustomPayloadPacket} may be sent to the client.
      *
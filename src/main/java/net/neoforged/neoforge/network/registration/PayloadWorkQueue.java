@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) NeoForged and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.neoforged.neoforge.network.registration;
+
+import com.mojang.logging.LogUtils;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import net.minecraft.network.Connection;
+import net.minecraft.network.chat.Component;
+import net.minecraft.resources.ResourceLocation;
+import net.neoforged.neoforge.network.handling.IPayloadContext;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+
+/**
+ * Queue of the payloads of a connection that are handled on {@link HandlerThread#WORKER worker threads}.
+ * <p>
+ * The payloads of a connection are handled one at a time, in the order they were received,
+ * by a worker pool shared by all connections.
+ * If too many payloads are waiting to be handled, the connection stops reading from its channel until the queue drains,
+ * which applies backpressure to the sender.
+ * Reads are withheld by a dedicated pipeline handler rather than by toggling auto-read,
+ * which the connection itself uses around protocol changes.
+ * <p>
+ * If a handler throws, the connection is disconnected, as with payloads handled on the main thread.
+ */
+@ApiStatus.Internal
+public final class PayloadWorkQueue implements Runnable {
+    private static final Logger LOGGER = LogUtils.getLogger();
+    /**
+     * Number of pending payloads at which the connection stops reading.
+     */
+    private static final int HIGH_WATERMARK = 256;
+    /**
+     * Number of pending payloads at which the connection resumes reading.
+     */
+    private static final int LOW_WATERMARK = 64;
+    /**
+     * Maximum number of payloads handled in one go, such that a busy connection does not starve the others.
+     */
+    private static final int MAX_BATCH_SIZE = 32;
+
+    private static final ForkJoinPool WORKERS = new ForkJoinPool(
+            Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2)),
+            pool -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName("Payload Worker-" + thread.getPoolIndex());
+                thread.setDaemon(true);
+                return thread;
+            },
+            (thread, throwable) -> LOGGER.error("Uncaught exception in payload worker {}", thread.getName(), throwable),
+            true);
+
+    public static final String THROTTLE_HANDLER_NAME = "neoforge:payload_throttle";
+
+    private final Connection connection;
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final ReadThrottle throttle = new ReadThrottle();
+    /**
+     * Whether reading should be paused, guarded by {@code this}. Applied to the {@link #throttle} on the channel's event loop.
+     */
+    private boolean paused = false;
+
+    PayloadWorkQueue(Connection connection) {
+        this.connection = connection;
+        connection.channel().pipeline().addFirst(THROTTLE_HANDLER_NAME, this.throttle);
+    }
+
+    /**
+     * Queues the handling of a payload.
+     */
+    public void submit(ResourceLocation payloadId, IPayloadContext context, Runnable task) {
+        this.tasks.add(() -> {
+            try {
+                task.run();
+            } catch (Throwable throwable) {
+                LOGGER.error("Failed to process the payload {} on a worker thread", payloadId, throwable);
+                context.enqueueWork(() -> context.disconnect(Component.translatable("neoforge.network.payload_worker.failed", payloadId.toString(), throwable.toString())));
+            }
+        });
+
+        if (this.pending.incrementAndGet() >= HIGH_WATERMARK) {
+            this.setPaused(true);
+        }
+        this.schedule();
+    }
+
+    private void schedule() {
+        if (this.scheduled.compareAndSet(false, true)) {
+            WORKERS.execute(this);
+        }
+    }
+
+    @Override
+    public void run() {
+        for (int i = 0; i < MAX_BATCH_SIZE; ++i) {
+            Runnable task = this.tasks.poll();
+            if (task == null) {
+                break;
+            }
+
+            task.run();
+            if (this.pending.decrementAndGet() <= LOW_WATERMARK) {
+                this.setPaused(false);
+            }
+        }
+
+        this.scheduled.set(false);
+        // Reschedule if more tasks were added, or if the batch size was reached.
+        if (!this.tasks.isEmpty()) {
+            this.schedule();
+        }
+    }
+
+    private synchronized void setPaused(boolean paused) {
+        if (this.paused != paused) {
+            this.paused = paused;
+            this.connection.channel().eventLoop().execute(this::applyPaused);
+        }
+    }
+
+    private void applyPaused() {
+        boolean paused;
+        synchronized (this) {
+            paused = this.paused;
+        }
+        this.throttle.setPaused(paused);
+    }
+
+    /**
+     * Withholds read requests while the queue is paused. Only accessed on the channel's event loop.
+     */
+    private static final class ReadThrottle extends ChannelOutboundHandlerAdapter {
+        @Nullable
+        private ChannelHandlerContext context;
+        private boolean paused;
+        private boolean readPending;
+
+        @Override
+        public void handlerAdded(ChannelHandlerContext ctx) {
+            this.context = ctx;
+        }
+
+        @Override
+        public void read(ChannelHandlerContext ctx) {
+            if (this.paused) {
+                this.readPending = true;
+            } else {
+                ctx.read();
+            }
+        }
+
+        private void setPaused(boolean paused) {
+            this.paused = paused;
+            if (!paused && this.readPending && this.context != null) {
+                this.readPending = false;
+                // Don't read if the connection suspended reading in the meantime, it issues a read itself when resuming
+                if (this.context.channel().config().isAutoRead()) {
+                    this.context.read();
+                }
+            }
+        }
+    }
+}
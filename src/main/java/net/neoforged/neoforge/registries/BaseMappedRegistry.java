@@ -6,10 +6,12 @@
 package net.neoforged.neoforge.registries;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import net.minecraft.core.Holder;
 import net.minecraft.core.Registry;
 import net.minecraft.resources.ResourceKey;
 import net.minecraft.resources.ResourceLocation;
@@ -27,7 +29,14 @@ public abstract class BaseMappedRegistry<T> implements Registry<T> {
     protected final List<BakeCallback<T>> bakeCallbacks = new ArrayList<>();
     protected final List<ClearCallback<T>> clearCallbacks = new ArrayList<>();
     final Map<ResourceLocation, ResourceLocation> aliases = new HashMap<>();
-    final Map<DataMapType<T, ?>, Map<ResourceKey<T>, ?>> dataMaps = new IdentityHashMap<>();
+    private final Map<DataMapType<T, ?>, Map<ResourceKey<T>, ?>> dataMaps = new IdentityHashMap<>();
+    /**
+     * The values of the data maps, indexed by {@linkplain DataMapType#index() data map index} and then by registry id.
+     * Built lazily from {@link #dataMaps}, and reset whenever the data maps or the ids change.
+     * Building, replacing the data maps and resetting the array are synchronized on the registry.
+     */
+    @Nullable
+    private volatile Object[][] dataMapsById;
 
     private int maxId = Integer.MAX_VALUE - 1;
     private boolean sync;
@@ -107,11 +116,32 @@ public abstract class BaseMappedRegistry<T> implements Registry<T> {
 
     protected void clear(boolean full) {
         this.aliases.clear();
-        if (full) {
-            this.dataMaps.clear();
+        // Synchronized with buildDataMapsById, such that an array built from the previous data maps or ids is never published afterwards
+        synchronized (this) {
+            if (full) {
+                this.dataMaps.clear();
+            }
+            // The ids are about to be reassigned
+            this.dataMapsById = null;
         }
     }
 
+    /**
+     * {@return a view of the data maps of this registry}
+     */
+    Map<DataMapType<T, ?>, Map<ResourceKey<T>, ?>> getDataMaps() {
+        return Collections.unmodifiableMap(this.dataMaps);
+    }
+
+    /**
+     * Replaces the data maps of this registry.
+     */
+    synchronized void setDataMaps(Map<DataMapType<T, ?>, Map<ResourceKey<T>, ?>> dataMaps) {
+        this.dataMaps.clear();
+        this.dataMaps.putAll(dataMaps);
+        this.dataMapsById = null;
+    }
+
     /**
      * Register a key <-> ID mapping.
      * <b>The IDs must be registered in increasing order.</b>
@@ -126,6 +156,61 @@ public abstract class BaseMappedRegistry<T> implements Registry<T> {
         return innerMap == null ? null : (A) innerMap.get(key);
     }
 
+    /**
+     * {@return the data map value attached to the holder, or {@code null} if there's no attached value}
+     * Unlike {@link #getData(DataMapType, ResourceKey)}, this reads the value from arrays indexed by data map and registry id.
+     */
+    public <A> @Nullable A getData(DataMapType<T, A> type, Holder.Reference<T> holder) {
+        final var byId = this.dataMapsById;
+        final var values = (byId == null ? this.buildDataMapsById() : byId);
+        final int index = type.index();
+        if (index >= values.length || values[index] == null || !holder.isBound()) {
+            return null;
+        }
+
+        final Object[] typeValues = values[index];
+        final int id = this.getId(holder.value());
+        return id >= 0 && id < typeValues.length ? (A) typeValues[id] : null;
+    }
+
+    private synchronized Object[][] buildDataMapsById() {
+        var byId = this.dataMapsById;
+        if (byId != null) {
+            return byId;
+        }
+
+        int maxIndex = -1;
+        for (DataMapType<T, ?> type : this.dataMaps.keySet()) {
+            maxIndex = Math.max(maxIndex, type.index());
+        }
+
+        byId = new Object[maxIndex + 1][];
+        for (var entry : this.dataMaps.entrySet()) {
+            final Map<ResourceKey<T>, ?> values = entry.getValue();
+            final int[] ids = new int[values.size()];
+            final Object[] orderedValues = new Object[values.size()];
+            int maxId = -1;
+            int i = 0;
+            for (var value : values.entrySet()) {
+                ids[i] = this.getId(value.getKey());
+                orderedValues[i] = value.getValue();
+                maxId = Math.max(maxId, ids[i]);
+                i++;
+            }
+
+            final Object[] typeValues = new Object[maxId + 1];
+            for (int j = 0; j < ids.length; j++) {
+                if (ids[j] >= 0) {
+                    typeValues[ids[j]] = orderedValues[j];
+                }
+            }
+            byId[entry.getKey().index()] = typeValues;
+        }
+
+        this.dataMapsById = byId;
+        return byId;
+    }
+
     @Override
     public <A> Map<ResourceKey<T>, A> getDataMap(DataMapType<T, A> type) {
         return (Map<ResourceKey<T>, A>) dataMaps.getOrDefault(type, Map.of());
@@ -12,7 +12,9 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 import net.minecraft.ChatFormatting;
@@ -27,6 +29,7 @@ import net.neoforged.neoforge.network.handling.IPayloadContext;
 import net.neoforged.neoforge.network.payload.KnownRegistryDataMapsPayload;
 import net.neoforged.neoforge.network.payload.KnownRegistryDataMapsReplyPayload;
 import net.neoforged.neoforge.network.payload.RegistryDataMapSyncPayload;
+import net.neoforged.neoforge.registries.datamaps.DataMapType;
 import net.neoforged.neoforge.registries.datamaps.DataMapsUpdatedEvent;
 import org.jetbrains.annotations.ApiStatus;
 import org.slf4j.Logger;
@@ -41,8 +44,23 @@ public class ClientRegistryManager {
                 var regAccess = Minecraft.getInstance().level.registryAccess();
                 final BaseMappedRegistry<R> registry = (BaseMappedRegistry<R>) regAccess
                         .lookupOrThrow(payload.registryKey());
-                registry.dataMaps.clear();
-                payload.dataMaps().forEach((attachKey, maps) -> registry.dataMaps.put(RegistryManager.getDataMap(payload.registryKey(), attachKey), Collections.unmodifiableMap(maps)));
+                final Map<DataMapType<R, ?>, Map<ResourceKey<R>, ?>> dataMaps = new IdentityHashMap<>();
+                if (payload.replace()) {
+                    payload.dataMaps().forEach((attachKey, maps) -> dataMaps.put(RegistryManager.getDataMap(payload.registryKey(), attachKey), Collections.unmodifiableMap(maps)));
+                } else {
+                    // Only the entries changed by a reload were sent, apply them on top of the current data maps
+                    dataMaps.putAll(registry.getDataMaps());
+                    final Set<ResourceLocation> changed = new HashSet<>(payload.dataMaps().keySet());
+                    changed.addAll(payload.removals().keySet());
+                    for (ResourceLocation attachKey : changed) {
+                        final DataMapType<R, ?> type = RegistryManager.getDataMap(payload.registryKey(), attachKey);
+                        final Map<ResourceKey<R>, Object> values = new HashMap<>(registry.getDataMap(type));
+                        values.keySet().removeAll(payload.removals().getOrDefault(attachKey, Set.of()));
+                        values.putAll(payload.dataMaps().getOrDefault(attachKey, Map.of()));
+                        dataMaps.put(type, Collections.unmodifiableMap(values));
+                    }
+                }
+                registry.setDataMaps(dataMaps);
                 NeoForge.EVENT_BUS.post(new DataMapsUpdatedEvent(regAccess, registry, DataMapsUpdatedEvent.UpdateCause.CLIENT_SYNC));
             } catch (Throwable t) {
                 LOGGER.error("Failed to handle registry data map sync: ", t);
@@ -12,10 +12,13 @@ import com.mojang.logging.LogUtils;
 import com.mojang.serialization.JsonOps;
 import java.io.Reader;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.function.BiConsumer;
@@ -41,6 +44,7 @@ import net.neoforged.neoforge.registries.datamaps.DataMapFile;
 import net.neoforged.neoforge.registries.datamaps.DataMapType;
 import net.neoforged.neoforge.registries.datamaps.DataMapValueMerger;
 import net.neoforged.neoforge.registries.datamaps.DataMapsUpdatedEvent;
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 
 @SuppressWarnings({ "rawtypes", "unchecked" })
@@ -50,6 +54,12 @@ public class DataMapLoader implements PreparableReloadListener {
     private Map<ResourceKey<? extends Registry<?>>, LoadResult<?>> results;
     private final ICondition.IContext conditionContext;
     private final RegistryAccess registryAccess;
+    /**
+     * The changes made to the data maps of each registry by {@link #apply()}, by data map id.
+     * {@code null} until the data maps are applied.
+     */
+    @Nullable
+    private Map<ResourceKey<? extends Registry<?>>, Map<ResourceLocation, Changes<?>>> changes;
 
     public DataMapLoader(ICondition.IContext conditionContext, RegistryAccess registryAccess) {
         this.conditionContext = conditionContext;
@@ -64,6 +74,7 @@ public class DataMapLoader implements PreparableReloadListener {
     }
 
     public void apply() {
+        changes = new HashMap<>();
         results.forEach((key, result) -> this.apply((BaseMappedRegistry) registryAccess.lookupOrThrow(key), result));
 
         // Clear the intermediary maps and objects
@@ -71,12 +82,36 @@ public class DataMapLoader implements PreparableReloadListener {
     }
 
     private <T> void apply(BaseMappedRegistry<T> registry, LoadResult<T> result) {
-        registry.dataMaps.clear();
-        result.results().forEach((key, entries) -> registry.dataMaps.put(
+        final Map<DataMapType<T, ?>, Map<ResourceKey<T>, ?>> dataMaps = new IdentityHashMap<>();
+        result.results().forEach((key, entries) -> dataMaps.put(
                 key, this.buildDataMap(registry, key, (List) entries)));
+
+        final Map<ResourceLocation, Changes<?>> registryChanges = new HashMap<>();
+        dataMaps.forEach((type, values) -> registryChanges.put(type.id(), Changes.between(registry.getDataMap(type), values)));
+        registry.getDataMaps().forEach((type, values) -> {
+            if (!dataMaps.containsKey(type)) {
+                registryChanges.put(type.id(), Changes.between(values, Map.of()));
+            }
+        });
+        changes.put(registry.key(), registryChanges);
+
+        registry.setDataMaps(dataMaps);
         NeoForge.EVENT_BUS.post(new DataMapsUpdatedEvent(registryAccess, registry, DataMapsUpdatedEvent.UpdateCause.SERVER_RELOAD));
     }
 
+    /**
+     * {@return the changes made to the data maps of the given registry by the last {@link #apply()}, by data map id}
+     * Returns {@code null} if the data maps weren't applied yet.
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <T> Map<ResourceLocation, Changes<T>> getChanges(ResourceKey<? extends Registry<T>> registry) {
+        if (changes == null) {
+            return null;
+        }
+        return (Map<ResourceLocation, Changes<T>>) (Map<?, ?>) changes.getOrDefault(registry, Map.of());
+    }
+
     private <T, R> Map<ResourceKey<R>, T> buildDataMap(Registry<R> registry, DataMapType<R, T> attachment, List<DataMapFile<T, R>> entries) {
         record WithSource<T, R>(T attachment, Either<TagKey<R>, ResourceKey<R>> source) {}
         final Map<ResourceKey<R>, WithSource<T, R>> result = new IdentityHashMap<>();
@@ -173,5 +208,29 @@ public class DataMapLoader implements PreparableReloadListener {
         return entries;
     }
 
+    /**
+     * The entries of a data map that changed when it was reloaded.
+     *
+     * @param changed the entries that were added, or whose value changed
+     * @param removed the keys whose value was removed
+     */
+    public record Changes<T>(Map<ResourceKey<T>, ?> changed, Set<ResourceKey<T>> removed) {
+        private static <T> Changes<T> between(Map<ResourceKey<T>, ?> previous, Map<ResourceKey<T>, ?> current) {
+            final Map<ResourceKey<T>, Object> changed = new HashMap<>();
+            current.forEach((key, value) -> {
+                if (!Objects.equals(previous.get(key), value)) {
+                    changed.put(key, value);
+                }
+            });
+            final Set<ResourceKey<T>> removed = new HashSet<>();
+            for (ResourceKey<T> key : previous.keySet()) {
+                if (!current.containsKey(key)) {
+                    removed.add(key);
+                }
+            }
+            return new Changes<>(changed, removed);
+        }
+    }
+
     private record LoadResult<T>(Map<DataMapType<T, ?>, List<DataMapFile<?, T>>> results) {}
 }
@@ -45,6 +45,11 @@ public class RegistryManager {
     private static Set<ResourceLocation> vanillaRegistryKeys = Set.of();
     private static Map<ResourceLocation, RegistrySnapshot> vanillaSnapshot = null;
     private static Map<ResourceLocation, RegistrySnapshot> frozenSnapshot = null;
+    /**
+     * The snapshots sent to clients, which are reused across connections until the registries change.
+     */
+    @Nullable
+    private static volatile Map<ResourceLocation, RegistrySnapshot> syncSnapshots = null;
     private static Map<ResourceKey<Registry<?>>, Map<ResourceLocation, DataMapType<?, ?>>> dataMaps = Map.of();
 
     /**
@@ -109,6 +114,7 @@ public class RegistryManager {
     }
 
     static void takeFrozenSnapshot() {
+        syncSnapshots = null;
         frozenSnapshot = takeSnapshot(SnapshotType.SYNC_TO_CLIENT);
     }
 
@@ -132,6 +138,7 @@ public class RegistryManager {
     public static Set<ResourceKey<?>> applySnapshot(Map<ResourceLocation, RegistrySnapshot> snapshots, boolean allowMissing, boolean isLocalWorld) {
         List<ResourceLocation> missingRegistries = allowMissing ? new ArrayList<>() : null;
         Set<ResourceKey<?>> missingEntries = new HashSet<>();
+        syncSnapshots = null;
 
         snapshots.forEach((registryName, snapshot) -> {
             if (!BuiltInRegistries.REGISTRY.containsKey(registryName)) {
@@ -146,6 +153,8 @@ public class RegistryManager {
             applySnapshot(registry, snapshot, missingEntries);
         });
 
+        syncSnapshots = null;
+
         if (missingRegistries != null && !missingRegistries.isEmpty() && LOGGER.isWarnEnabled(REGISTRIES)) {
             StringBuilder builder = new StringBuilder("NeoForge detected missing/unknown registries.\n\n")
                     .append("There are ").append(missingRegistries.size()).append(" missing registries.\n");
@@ -233,11 +242,41 @@ public class RegistryManager {
         return map;
     }
 
+    /**
+     * {@return the snapshots of the registries synced to clients}
+     * The snapshots are taken once and reused until the registries change, such that their binary form and hash are only computed once.
+     */
+    public static Map<ResourceLocation, RegistrySnapshot> getSyncSnapshots() {
+        Map<ResourceLocation, RegistrySnapshot> snapshots = syncSnapshots;
+        if (snapshots == null) {
+            snapshots = Collections.unmodifiableMap(takeSnapshot(SnapshotType.SYNC_TO_CLIENT));
+            syncSnapshots = snapshots;
+        }
+        return snapshots;
+    }
+
+    /**
+     * {@return the content hash of each registry synced to clients}
+     */
+    public static Map<ResourceLocation, String> getSyncSnapshotHashes() {
+        Map<ResourceLocation, String> hashes = new HashMap<>();
+        getSyncSnapshots().forEach((name, snapshot) -> hashes.put(name, snapshot.getHash()));
+        return hashes;
+    }
+
     public static List<FrozenRegistryPayload> generateRegistryPackets(boolean isLocal) {
+        return generateRegistryPackets(isLocal, Set.of());
+    }
+
+    /**
+     * Generates the packets for the registries synced to clients, skipping the given registries that the client already has.
+     */
+    public static List<FrozenRegistryPayload> generateRegistryPackets(boolean isLocal, Collection<ResourceLocation> skipped) {
         if (isLocal)
             return List.of();
 
-        return takeSnapshot(SnapshotType.SYNC_TO_CLIENT).entrySet().stream()
+        return getSyncSnapshots().entrySet().stream()
+                .filter(e -> !skipped.contains(e.getKey()))
                 .map(e -> new FrozenRegistryPayload(e.getKey(), e.getValue()))
                 .toList();
     }
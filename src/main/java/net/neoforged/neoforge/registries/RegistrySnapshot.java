@@ -5,7 +5,9 @@
 
 package net.neoforged.neoforge.registries;
 
+import com.google.common.hash.Hashing;
 import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.DecoderException;
 import it.unimi.dsi.fastutil.ints.Int2ObjectRBTreeMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectSortedMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectSortedMaps;
@@ -34,19 +36,8 @@ public class RegistrySnapshot {
         }
 
         @Override
-        public synchronized void encode(FriendlyByteBuf buf, RegistrySnapshot snapshot) {
-            if (snapshot.binary == null) {
-                FriendlyByteBuf pkt = new FriendlyByteBuf(Unpooled.buffer());
-                try {
-                    pkt.writeMap(snapshot.ids, FriendlyByteBuf::writeVarInt, FriendlyByteBuf::writeResourceLocation);
-                    pkt.writeMap(snapshot.aliases, FriendlyByteBuf::writeResourceLocation, FriendlyByteBuf::writeResourceLocation);
-                    snapshot.binary = new byte[pkt.readableBytes()];
-                    pkt.readBytes(snapshot.binary);
-                } finally {
-                    pkt.release();
-                }
-            }
-            buf.writeBytes(snapshot.binary);
+        public void encode(FriendlyByteBuf buf, RegistrySnapshot snapshot) {
+            buf.writeBytes(snapshot.getBinary());
         }
     };
 
@@ -60,6 +51,8 @@ public class RegistrySnapshot {
     private final Registry<?> fullBackup;
     @Nullable
     private byte[] binary = null;
+    @Nullable
+    private String hash = null;
 
     /**
      * Creates a blank snapshot to populate.
@@ -94,6 +87,50 @@ public class RegistrySnapshot {
         }
     }
 
+    /**
+     * Reads a snapshot from its {@linkplain #getBinary() binary form}.
+     *
+     * @throws DecoderException if the data is not a valid snapshot
+     */
+    static RegistrySnapshot fromBinary(byte[] binary) {
+        FriendlyByteBuf buf = new FriendlyByteBuf(Unpooled.wrappedBuffer(binary));
+        RegistrySnapshot snapshot = STREAM_CODEC.decode(buf);
+        if (buf.isReadable()) {
+            throw new DecoderException("Found " + buf.readableBytes() + " unexpected bytes after registry snapshot");
+        }
+        snapshot.binary = binary;
+        return snapshot;
+    }
+
+    /**
+     * {@return the encoded form of this snapshot, as sent to the client}
+     * The entries are sorted, so equal snapshots always have the same binary form.
+     */
+    synchronized byte[] getBinary() {
+        if (this.binary == null) {
+            FriendlyByteBuf pkt = new FriendlyByteBuf(Unpooled.buffer());
+            try {
+                pkt.writeMap(this.ids, FriendlyByteBuf::writeVarInt, FriendlyByteBuf::writeResourceLocation);
+                pkt.writeMap(this.aliases, FriendlyByteBuf::writeResourceLocation, FriendlyByteBuf::writeResourceLocation);
+                this.binary = new byte[pkt.readableBytes()];
+                pkt.readBytes(this.binary);
+            } finally {
+                pkt.release();
+            }
+        }
+        return this.binary;
+    }
+
+    /**
+     * {@return the SHA-256 hash of the {@linkplain #getBinary() binary form} of this snapshot, as a lowercase hex string}
+     */
+    public synchronized String getHash() {
+        if (this.hash == null) {
+            this.hash = Hashing.sha256().hashBytes(getBinary()).toString();
+        }
+        return this.hash;
+    }
+
     public Int2ObjectSortedMap<ResourceLocation> getIds() {
         return this.idsView;
     }
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) NeoForged and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.neoforged.neoforge.registries;
+
+import com.mojang.logging.LogUtils;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import net.minecraft.Util;
+import net.neoforged.fml.loading.FMLPaths;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+
+/**
+ * Client-side cache of the registry snapshots received from servers, stored on disk by {@linkplain RegistrySnapshot#getHash() content hash}.
+ *
+ * <p>The server announces the hash of each registry it syncs, and only sends the snapshots that the client doesn't have in this cache.
+ * Since entries are addressed by their content, servers with the same registries share the same entries.
+ */
+@ApiStatus.Internal
+public final class RegistrySnapshotCache {
+    private static final Logger LOGGER = LogUtils.getLogger();
+    private static final Pattern HASH_PATTERN = Pattern.compile("[0-9a-f]{64}");
+    private static final String EXTENSION = ".bin";
+    /**
+     * The maximum number of cached snapshots. The least recently used snapshots are removed first.
+     */
+    private static final int MAX_ENTRIES = 512;
+
+    private RegistrySnapshotCache() {}
+
+    private static Path getDirectory() {
+        return FMLPaths.GAMEDIR.get().resolve(".cache").resolve("neoforge").resolve("registry_snapshots");
+    }
+
+    /**
+     * Loads the cached snapshot with the given hash.
+     *
+     * @return the snapshot, or {@code null} if it isn't cached or couldn't be read
+     */
+    @Nullable
+    public static RegistrySnapshot load(String hash) {
+        // The hash comes from the server, make sure it can't be used to escape the cache directory
+        if (!HASH_PATTERN.matcher(hash).matches()) {
+            return null;
+        }
+
+        Path file = getDirectory().resolve(hash + EXTENSION);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+
+        try {
+            RegistrySnapshot snapshot = RegistrySnapshot.fromBinary(Files.readAllBytes(file));
+            if (!snapshot.getHash().equals(hash)) {
+                LOGGER.warn("Discarding corrupted cached registry snapshot {}", file);
+                Files.deleteIfExists(file);
+                return null;
+            }
+
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            return snapshot;
+        } catch (Exception e) {
+            LOGGER.warn("Failed to read cached registry snapshot {}", file, e);
+            return null;
+        }
+    }
+
+    /**
+     * Asynchronously stores the given snapshots, and removes the least recently used snapshots if the cache is full.
+     */
+    public static void saveAsync(List<RegistrySnapshot> snapshots) {
+        if (snapshots.isEmpty()) {
+            return;
+        }
+
+        Util.ioPool().execute(() -> {
+            Path directory = getDirectory();
+            try {
+                Files.createDirectories(directory);
+                for (RegistrySnapshot snapshot : snapshots) {
+                    save(directory, snapshot);
+                }
+                prune(directory);
+            } catch (IOException e) {
+                LOGGER.warn("Failed to cache registry snapshots in {}", directory, e);
+            }
+        });
+    }
+
+    private static void save(Path directory, RegistrySnapshot snapshot) throws IOException {
+        Path file = directory.resolve(snapshot.getHash() + EXTENSION);
+        if (Files.isRegularFile(file)) {
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            return;
+        }
+
+        // Write to a temporary file first, such that a crash can't leave a truncated entry behind
+        Path temp = Files.createTempFile(directory, snapshot.getHash(), ".tmp");
+        try {
+            Files.write(temp, snapshot.getBinary());
+            try {
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static void prune(Path directory) throws IOException {
+        List<Path> entries;
+        try (Stream<Path> files = Files.list(directory)) {
+            entries = files.filter(file -> file.getFileName().toString().endsWith(EXTENSION)).toList();
+        }
+        if (entries.size() <= MAX_ENTRIES) {
+            return;
+        }
+
+        List<Path> sorted = entries.stream()
+                .sorted(Comparator.comparing(RegistrySnapshotCache::getLastModifiedTime))
+                .toList();
+        for (Path file : sorted.subList(0, sorted.size() - MAX_ENTRIES)) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static FileTime getLastModifiedTime(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+}
@@ -8,10 +8,12 @@ package net.neoforged.neoforge.registries.datamaps;
 import com.google.common.base.Preconditions;
 import com.mojang.serialization.Codec;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
 import net.minecraft.core.Registry;
 import net.minecraft.resources.ResourceKey;
 import net.minecraft.resources.ResourceLocation;
 import net.neoforged.neoforge.common.conditions.ConditionalOps;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
 
 /**
@@ -57,11 +59,14 @@ import org.jetbrains.annotations.Nullable;
  * @see AdvancedDataMapType for more functionality
  */
 public sealed class DataMapType<R, T> permits AdvancedDataMapType {
+    private static final AtomicInteger NEXT_INDEX = new AtomicInteger();
+
     private final ResourceKey<Registry<R>> registryKey;
     private final ResourceLocation id;
     private final Codec<T> codec;
     private final @Nullable Codec<T> networkCodec;
     private final boolean mandatorySync;
+    private final int index = NEXT_INDEX.getAndIncrement();
 
     DataMapType(ResourceKey<Registry<R>> registryKey, ResourceLocation id, Codec<T> codec, @Nullable Codec<T> networkCodec, boolean mandatorySync) {
         Preconditions.checkArgument(networkCodec != null || !mandatorySync, "Mandatory sync cannot be enabled when the attachment isn't synchronized");
@@ -73,6 +78,14 @@ public sealed class DataMapType<R, T> permits AdvancedDataMapType {
         this.mandatorySync = mandatorySync;
     }
 
+    /**
+     * {@return the unique index of this data map type, used by registries to store the values of the data map in an array}
+     */
+    @ApiStatus.Internal
+    public int index() {
+        return index;
+    }
+
     /**
      * {@return a data map type builder}
      *
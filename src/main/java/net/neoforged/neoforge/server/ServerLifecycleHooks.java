@@ -30,6 +30,7 @@ import net.minecraft.world.entity.SpawnPlacements;
 import net.minecraft.world.level.biome.Biome;
 import net.minecraft.world.level.biome.Biomes;
 import net.minecraft.world.level.biome.MobSpawnSettings;
+import net.minecraft.world.level.levelgen.structure.Structure;
 import net.minecraft.world.level.storage.LevelResource;
 import net.neoforged.fml.config.ConfigTracker;
 import net.neoforged.fml.config.ModConfig;
@@ -39,6 +40,7 @@ import net.neoforged.fml.loading.FMLPaths;
 import net.neoforged.neoforge.common.NeoForge;
 import net.neoforged.neoforge.common.util.LogicalSidedProvider;
 import net.neoforged.neoforge.common.world.BiomeModifier;
+import net.neoforged.neoforge.common.world.ModifierIndex;
 import net.neoforged.neoforge.common.world.StructureModifier;
 import net.neoforged.neoforge.event.server.ServerAboutToStartEvent;
 import net.neoforged.neoforge.event.server.ServerStartedEvent;
@@ -161,26 +163,29 @@ public class ServerLifecycleHooks {
         final RegistryAccess registries = server.registryAccess();
 
         // The order of holders() is the order modifiers were loaded in.
-        final List<BiomeModifier> biomeModifiers = registries.lookupOrThrow(NeoForgeRegistries.Keys.BIOME_MODIFIERS)
-                .listElements()
-                .map(Holder::value)
-                .toList();
-        final List<StructureModifier> structureModifiers = registries.lookupOrThrow(Keys.STRUCTURE_MODIFIERS)
-                .listElements()
-                .map(Holder::value)
-                .toList();
+        final ModifierIndex<Biome, BiomeModifier> biomeModifiers = new ModifierIndex<>(
+                registries.lookupOrThrow(NeoForgeRegistries.Keys.BIOME_MODIFIERS).listElements().toList(),
+                BiomeModifier::targetBiomes,
+                BiomeModifier::isThreadSafe);
+        final ModifierIndex<Structure, StructureModifier> structureModifiers = new ModifierIndex<>(
+                registries.lookupOrThrow(Keys.STRUCTURE_MODIFIERS).listElements().toList(),
+                StructureModifier::targetStructures,
+                StructureModifier::isThreadSafe);
 
         final Set<EntityType<?>> entitiesWithoutPlacements = new HashSet<>();
 
         // Apply sorted biome modifiers to each biome.
         final var biomeRegistry = registries.lookupOrThrow(Registries.BIOME);
-        biomeRegistry.listElements().forEach(biomeHolder -> {
+        final List<Holder.Reference<Biome>> biomes = biomeRegistry.listElements().toList();
+        final boolean[] modifiedBiomes = new boolean[biomes.size()];
+        long start = System.nanoTime();
+        biomeModifiers.forEachTarget(biomes, (biomeHolder, index) -> modifiedBiomes[index] = biomeHolder.value().modifiableBiomeInfo().applyBiomeModifiers(biomeHolder, biomeModifiers, registries));
+        biomeModifiers.logTimings("biome", System.nanoTime() - start);
+
+        for (int i = 0; i < biomes.size(); i++) {
+            final Holder.Reference<Biome> biomeHolder = biomes.get(i);
             final Biome biome = biomeHolder.value();
-            ensureProperSync(
-                    biome.modifiableBiomeInfo()
-                            .applyBiomeModifiers(biomeHolder, biomeModifiers, registries),
-                    biomeHolder,
-                    biomeRegistry);
+            ensureProperSync(modifiedBiomes[i], biomeHolder, biomeRegistry);
 
             final MobSpawnSettings mobSettings = biome.getMobSettings();
             mobSettings.getSpawnerTypes().forEach(category -> {
@@ -206,16 +211,18 @@ public class ServerLifecycleHooks {
                     }
                 }
             }
-        });
+        }
         // Rebuild the indexed feature list
         registries.lookupOrThrow(Registries.LEVEL_STEM).forEach(levelStem -> {
             levelStem.generator().refreshFeaturesPerStep();
         });
 
         // Apply sorted structure modifiers to each structure.
-        registries.lookupOrThrow(Registries.STRUCTURE).listElements().forEach(structureHolder -> {
+        start = System.nanoTime();
+        structureModifiers.forEachTarget(registries.lookupOrThrow(Registries.STRUCTURE).listElements().toList(), (structureHolder, index) -> {
             structureHolder.value().modifiableStructureInfo().applyStructureModifiers(structureHolder, structureModifiers);
         });
+        structureModifiers.logTimings("structure", System.nanoTime() - start);
 
         if (!entitiesWithoutPlacements.isEmpty() && !FMLLoader.isProduction()) {
             LOGGER.error("The following entities have not registered to the RegisterSpawnPlacementsEvent, but a spawn entry was found. This will mean that the entity doesn't have restrictions on its spawn location, please register a spawn placement for the entity, you can register with NO_RESTRICTIONS if you don't want any restrictions."
@@ -11,6 +11,7 @@ import com.mojang.brigadier.arguments.IntegerArgumentType;
 import com.mojang.brigadier.builder.ArgumentBuilder;
 import com.mojang.brigadier.builder.LiteralArgumentBuilder;
 import com.mojang.brigadier.context.CommandContext;
+import java.util.Locale;
 import net.minecraft.commands.CommandSourceStack;
 import net.minecraft.commands.Commands;
 import net.minecraft.commands.arguments.coordinates.BlockPosArgument;
@@ -39,6 +40,11 @@ class GenerateCommand {
                                         .executes(ctx -> executeGeneration(ctx.getSource(), BlockPosArgument.getSpawnablePos(ctx, "pos"), getInt(ctx, "chunkRadius"), getBool(ctx, "progressBar"))))
                                 .executes(ctx -> executeGeneration(ctx.getSource(), BlockPosArgument.getSpawnablePos(ctx, "pos"), getInt(ctx, "chunkRadius"), true)))));
 
+        builder.then(Commands.literal("resume")
+                .then(Commands.argument("progressBar", BoolArgumentType.bool())
+                        .executes(ctx -> resumeGeneration(ctx.getSource(), getBool(ctx, "progressBar"))))
+                .executes(ctx -> resumeGeneration(ctx.getSource(), true)));
+
         builder.then(Commands.literal("stop")
                 .executes(ctx -> stopGeneration(ctx.getSource())));
 
@@ -67,8 +73,29 @@ class GenerateCommand {
 
         ChunkPos origin = new ChunkPos(pos);
 
-        activeTask = new GenerationTask(source.getLevel(), origin.x, origin.z, chunkRadius);
-        int diameter = chunkRadius * 2 + 1;
+        startGeneration(source, new GenerationTask(source.getLevel(), origin.x, origin.z, chunkRadius), progressBar, "commands.neoforge.chunkgen.started");
+        return Command.SINGLE_SUCCESS;
+    }
+
+    private static int resumeGeneration(CommandSourceStack source, boolean progressBar) {
+        if (activeTask != null) {
+            source.sendSuccess(() -> Component.translatable("commands.neoforge.chunkgen.already_running"), true);
+            return Command.SINGLE_SUCCESS;
+        }
+
+        GenerationTask task = GenerationTask.resume(source.getLevel());
+        if (task == null) {
+            source.sendSuccess(() -> Component.translatable("commands.neoforge.chunkgen.nothing_to_resume"), false);
+            return Command.SINGLE_SUCCESS;
+        }
+
+        startGeneration(source, task, progressBar, "commands.neoforge.chunkgen.resumed");
+        return Command.SINGLE_SUCCESS;
+    }
+
+    private static void startGeneration(CommandSourceStack source, GenerationTask task, boolean progressBar, String messageKey) {
+        activeTask = task;
+        int diameter = task.getRadius() * 2 + 1;
 
         if (progressBar) {
             generationBar = new GenerationBar();
@@ -78,12 +105,10 @@ class GenerateCommand {
             }
         }
 
-        source.sendSuccess(() -> Component.translatable("commands.neoforge.chunkgen.started",
-                activeTask.getTotalCount(), diameter, diameter, diameter * 16, diameter * 16), true);
+        source.sendSuccess(() -> Component.translatable(messageKey,
+                task.getTotalCount(), diameter, diameter, diameter * 16, diameter * 16), true);
 
-        activeTask.run(createPregenListener(source));
-
-        return Command.SINGLE_SUCCESS;
+        task.run(createPregenListener(source));
     }
 
     private static int stopGeneration(CommandSourceStack source) {
@@ -115,6 +140,13 @@ class GenerateCommand {
 
             double percent = (double) count / total * 100.0;
             source.sendSuccess(() -> Component.translatable("commands.neoforge.chunkgen.status", count, total, percent), true);
+
+            long secondsRemaining = activeTask.getEstimatedSecondsRemaining();
+            if (secondsRemaining >= 0) {
+                String rate = String.format(Locale.ROOT, "%.1f", activeTask.getChunksPerSecond());
+                String eta = String.format(Locale.ROOT, "%d:%02d:%02d", secondsRemaining / 3600, (secondsRemaining / 60) % 60, secondsRemaining % 60);
+                source.sendSuccess(() -> Component.translatable("commands.neoforge.chunkgen.rate", rate, eta), true);
+            }
         } else {
             source.sendSuccess(() -> Component.translatable("commands.neoforge.chunkgen.not_running"), false);
         }
@@ -5,139 +5,124 @@
 
 package net.neoforged.neoforge.server.command;
 
-import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.mojang.brigadier.Command;
 import com.mojang.brigadier.builder.ArgumentBuilder;
+import com.mojang.logging.LogUtils;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.text.DecimalFormat;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
 import java.util.function.Function;
+import java.util.function.Supplier;
+import net.minecraft.ChatFormatting;
+import net.minecraft.Util;
 import net.minecraft.commands.CommandSourceStack;
 import net.minecraft.commands.Commands;
-import net.minecraft.core.BlockPos;
-import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.network.chat.ClickEvent;
 import net.minecraft.network.chat.Component;
-import net.minecraft.world.entity.Entity;
-import net.minecraft.world.level.block.entity.BlockEntity;
-import net.neoforged.neoforge.server.timings.ObjectTimings;
-import net.neoforged.neoforge.server.timings.TimeTracker;
+import net.minecraft.network.chat.MutableComponent;
+import net.neoforged.fml.loading.FMLLoader;
+import net.neoforged.neoforge.server.timings.TickProfiler;
+import org.slf4j.Logger;
 
+/**
+ * The {@code /neoforge track} command, which reports the results of the {@link TickProfiler}.
+ */
 class TrackCommand {
+    private static final Logger LOGGER = LogUtils.getLogger();
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
     private static final DecimalFormat TIME_FORMAT = new DecimalFormat("#####0.00");
+    private static final int MAX_ENTRIES = 10;
 
     static ArgumentBuilder<CommandSourceStack, ?> register() {
         return Commands.literal("track")
-                .then(StartTrackingCommand.register())
-                .then(ResetTrackingCommand.register())
-                .then(TrackResultsEntity.register())
-                .then(TrackResultsBlockEntity.register())
-                .then(StartTrackingCommand.register());
-    }
-
-    private static class StartTrackingCommand {
-        static ArgumentBuilder<CommandSourceStack, ?> register() {
-            return Commands.literal("start")
-                    .requires(cs -> cs.hasPermission(2)) //permission
-                    .then(Commands.literal("blockentity")
-                            .then(Commands.argument("duration", IntegerArgumentType.integer(1))
-                                    .executes(ctx -> {
-                                        int duration = IntegerArgumentType.getInteger(ctx, "duration");
-                                        TimeTracker.BLOCK_ENTITY_UPDATE.reset();
-                                        TimeTracker.BLOCK_ENTITY_UPDATE.enable(duration);
-                                        ctx.getSource().sendSuccess(() -> Component.translatable("commands.neoforge.tracking.be.enabled", duration), true);
-                                        return 0;
-                                    })))
-                    .then(Commands.literal("entity")
-                            .then(Commands.argument("duration", IntegerArgumentType.integer(1))
-                                    .executes(ctx -> {
-                                        int duration = IntegerArgumentType.getInteger(ctx, "duration");
-                                        TimeTracker.ENTITY_UPDATE.reset();
-                                        TimeTracker.ENTITY_UPDATE.enable(duration);
-                                        ctx.getSource().sendSuccess(() -> Component.translatable("commands.neoforge.tracking.entity.enabled", duration), true);
-                                        return 0;
-                                    })));
-        }
+                .then(Commands.literal("blockentity").executes(ctx -> sendTypeTimings(ctx.getSource(), TickProfiler::getBlockEntityTimings)))
+                .then(Commands.literal("entity").executes(ctx -> sendTypeTimings(ctx.getSource(), TickProfiler::getEntityTimings)))
+                .then(Commands.literal("chunks").executes(ctx -> sendTimings(ctx.getSource(), TickProfiler::getChunkTimings, timings -> Component.translatable(
+                        "commands.neoforge.tracking.chunk_entry",
+                        timings.dimension().location().toString(),
+                        timings.pos().x,
+                        timings.pos().z,
+                        formatPerTick(timings.totalNanos())))))
+                .then(Commands.literal("mods").executes(ctx -> sendTimings(ctx.getSource(), TickProfiler::getNamespaceTimings, timings -> Component.translatable(
+                        "commands.neoforge.tracking.mod_entry",
+                        timings.namespace(),
+                        formatPerTick(timings.totalNanos())))))
+                .then(Commands.literal("reset")
+                        .requires(cs -> cs.hasPermission(2)) //permission
+                        .executes(ctx -> {
+                            TickProfiler.reset();
+                            ctx.getSource().sendSuccess(() -> Component.translatable("commands.neoforge.tracking.reset"), true);
+                            return Command.SINGLE_SUCCESS;
+                        }))
+                .then(Commands.literal("dump")
+                        .requires(cs -> cs.hasPermission(2)) //permission
+                        .executes(ctx -> dump(ctx.getSource())));
     }
 
-    private static class ResetTrackingCommand {
-        static ArgumentBuilder<CommandSourceStack, ?> register() {
-            return Commands.literal("reset")
-                    .requires(cs -> cs.hasPermission(2)) //permission
-                    .then(Commands.literal("blockentity")
-                            .executes(ctx -> {
-                                TimeTracker.BLOCK_ENTITY_UPDATE.reset();
-                                ctx.getSource().sendSuccess(() -> Component.translatable("commands.neoforge.tracking.be.reset"), true);
-                                return 0;
-                            }))
-                    .then(Commands.literal("entity")
-                            .executes(ctx -> {
-                                TimeTracker.ENTITY_UPDATE.reset();
-                                ctx.getSource().sendSuccess(() -> Component.translatable("commands.neoforge.tracking.entity.reset"), true);
-                                return 0;
-                            }));
-        }
+    private static int sendTypeTimings(CommandSourceStack source, Supplier<List<TickProfiler.TypeTimings>> timings) {
+        return sendTimings(source, timings, typeTimings -> Component.translatable(
+                "commands.neoforge.tracking.type_entry",
+                typeTimings.type().toString(),
+                formatPerTick(typeTimings.totalNanos()),
+                formatNanos(typeTimings.p50Nanos()),
+                formatNanos(typeTimings.p99Nanos()),
+                formatNanos(typeTimings.maxNanos()),
+                typeTimings.samples()));
     }
 
-    private static class TrackResults {
-        /**
-         * Returns the time objects recorded by the time tracker sorted by average time
-         *
-         * @return A list of time objects
-         */
-        private static <T> List<ObjectTimings<T>> getSortedTimings(TimeTracker<T> tracker) {
-            ArrayList<ObjectTimings<T>> list = new ArrayList<>();
-
-            list.addAll(tracker.getTimingData());
-            list.sort(Comparator.comparingDouble(ObjectTimings::getAverageTimings));
-            Collections.reverse(list);
-
-            return list;
+    private static <T> int sendTimings(CommandSourceStack source, Supplier<List<T>> timingsSupplier, Function<T, Component> toComponent) {
+        if (!TickProfiler.isEnabled()) {
+            source.sendFailure(Component.translatable("commands.neoforge.tracking.disabled"));
+            return 0;
         }
 
-        private static <T> int execute(CommandSourceStack source, TimeTracker<T> tracker, Function<ObjectTimings<T>, Component> toString) {
-            List<ObjectTimings<T>> timingsList = getSortedTimings(tracker);
-            if (timingsList.isEmpty()) {
-                source.sendSuccess(() -> Component.translatable("commands.neoforge.tracking.no_data"), true);
-            } else {
-                timingsList.stream()
-                        .filter(timings -> timings.getObject().get() != null)
-                        .limit(10)
-                        .forEach(timings -> source.sendSuccess(() -> toString.apply(timings), true));
-            }
+        List<T> timings = timingsSupplier.get();
+        if (timings.isEmpty()) {
+            source.sendSuccess(() -> Component.translatable("commands.neoforge.tracking.no_data"), true);
             return 0;
         }
+
+        source.sendSuccess(() -> Component.translatable("commands.neoforge.tracking.header", TickProfiler.getSamplingInterval(), TickProfiler.getServerTicks()), true);
+        timings.stream()
+                .limit(MAX_ENTRIES)
+                .forEach(entry -> source.sendSuccess(() -> toComponent.apply(entry), true));
+        return Command.SINGLE_SUCCESS;
     }
 
-    private static class TrackResultsEntity {
-        static ArgumentBuilder<CommandSourceStack, ?> register() {
-            return Commands.literal("entity").executes(ctx -> TrackResults.execute(ctx.getSource(), TimeTracker.ENTITY_UPDATE, data -> {
-                Entity entity = data.getObject().get();
-                if (entity == null)
-                    return Component.translatable("commands.neoforge.tracking.invalid");
+    private static int dump(CommandSourceStack source) {
+        Path dumpFile = FMLLoader.getGamePath().resolve("dumps").resolve("tick_profiler").resolve(Util.getFilenameFormattedDateTime() + ".json");
+        try {
+            Files.createDirectories(dumpFile.getParent());
+            Files.writeString(dumpFile, GSON.toJson(TickProfiler.toJson()));
+        } catch (Exception e) {
+            source.sendFailure(Component.translatable("commands.neoforge.tracking.dump.failure", Component.literal(dumpFile.toString()).withStyle(ChatFormatting.GOLD)));
+            LOGGER.error("Failed to write tick profiler data to {}", dumpFile, e);
+            return 0;
+        }
 
-                BlockPos pos = entity.blockPosition();
-                double averageTimings = data.getAverageTimings();
-                String tickTime = (averageTimings > 1000 ? TIME_FORMAT.format(averageTimings / 1000) : TIME_FORMAT.format(averageTimings)) + (averageTimings < 1000 ? "\u03bcs" : "ms");
+        MutableComponent filePathComponent = Component.literal("..." + FMLLoader.getGamePath().relativize(dumpFile))
+                .withStyle(ChatFormatting.UNDERLINE)
+                .withStyle(ChatFormatting.GOLD);
 
-                return Component.translatable("commands.neoforge.tracking.timing_entry", BuiltInRegistries.ENTITY_TYPE.getKey(entity.getType()).toString(), entity.level().dimension().location().toString(), pos.getX(), pos.getY(), pos.getZ(), tickTime);
-            }));
+        // Click action not allow on dedicated servers as client cannot click link to a server's file path.
+        if (!FMLLoader.getDist().isDedicatedServer()) {
+            filePathComponent.withStyle((style) -> style.withClickEvent(new ClickEvent(ClickEvent.Action.OPEN_FILE, dumpFile.toString())));
         }
-    }
 
-    private static class TrackResultsBlockEntity {
-        static ArgumentBuilder<CommandSourceStack, ?> register() {
-            return Commands.literal("blockentity").executes(ctx -> TrackResults.execute(ctx.getSource(), TimeTracker.BLOCK_ENTITY_UPDATE, data -> {
-                BlockEntity be = data.getObject().get();
-                if (be == null)
-                    return Component.translatable("commands.neoforge.tracking.invalid");
+        source.sendSuccess(() -> Component.translatable("commands.neoforge.tracking.dump.success", filePathComponent), false);
+        return Command.SINGLE_SUCCESS;
+    }
 
-                BlockPos pos = be.getBlockPos();
+    private static String formatPerTick(long totalNanos) {
+        long ticks = Math.max(1, TickProfiler.getServerTicks());
+        return formatNanos(totalNanos / ticks);
+    }
 
-                double averageTimings = data.getAverageTimings();
-                String tickTime = (averageTimings > 1000 ? TIME_FORMAT.format(averageTimings / 1000) : TIME_FORMAT.format(averageTimings)) + (averageTimings < 1000 ? "\u03bcs" : "ms");
-                return Component.translatable("commands.neoforge.tracking.timing_entry", BuiltInRegistries.BLOCK_ENTITY_TYPE.getKey(be.getType()).toString(), be.getLevel().dimension().location().toString(), pos.getX(), pos.getY(), pos.getZ(), tickTime);
-            }));
-        }
+    private static String formatNanos(long nanos) {
+        double micros = nanos / 1000.0;
+        return micros >= 1000 ? TIME_FORMAT.format(micros / 1000) + "ms" : TIME_FORMAT.format(micros) + "\u03bcs";
     }
 }
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) NeoForged and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.neoforged.neoforge.server.command.generation;
+
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import it.unimi.dsi.fastutil.longs.LongSets;
+import net.minecraft.core.HolderLookup;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.saveddata.SavedData;
+
+/**
+ * Persisted progress of the generation task of a level, so that it can be resumed after a restart.
+ *
+ * <p>Progress is tracked per region: a region is recorded once all of its chunks in the generated area were generated successfully.
+ * It is saved together with the level.
+ */
+class GenerationProgress extends SavedData {
+    private static final String NAME = "neoforge_generation_progress";
+
+    static GenerationProgress get(ServerLevel level) {
+        return level.getDataStorage().computeIfAbsent(new SavedData.Factory<>(GenerationProgress::new, GenerationProgress::load), NAME);
+    }
+
+    private int x;
+    private int z;
+    /**
+     * Radius of the generated area, or {@code 0} if there is no unfinished generation.
+     */
+    private int radius;
+    private final LongSet completedRegions = new LongOpenHashSet();
+
+    private static GenerationProgress load(CompoundTag tag, HolderLookup.Provider provider) {
+        GenerationProgress progress = new GenerationProgress();
+        progress.x = tag.getInt("x");
+        progress.z = tag.getInt("z");
+        progress.radius = tag.getInt("radius");
+        for (long region : tag.getLongArray("completed_regions")) {
+            progress.completedRegions.add(region);
+        }
+        return progress;
+    }
+
+    @Override
+    public CompoundTag save(CompoundTag tag, HolderLookup.Provider provider) {
+        tag.putInt("x", this.x);
+        tag.putInt("z", this.z);
+        tag.putInt("radius", this.radius);
+        tag.putLongArray("completed_regions", this.completedRegions.toLongArray());
+        return tag;
+    }
+
+    boolean hasUnfinishedTask() {
+        return this.radius > 0;
+    }
+
+    int getX() {
+        return this.x;
+    }
+
+    int getZ() {
+        return this.z;
+    }
+
+    int getRadius() {
+        return this.radius;
+    }
+
+    /**
+     * Starts tracking the generation of the given area. The progress is kept if the area is the same as the tracked one.
+     */
+    void start(int x, int z, int radius) {
+        if (this.x == x && this.z == z && this.radius == radius) {
+            return;
+        }
+
+        this.x = x;
+        this.z = z;
+        this.radius = radius;
+        this.completedRegions.clear();
+        this.setDirty();
+    }
+
+    LongSet getCompletedRegions() {
+        return LongSets.unmodifiable(this.completedRegions);
+    }
+
+    void markRegionComplete(long region) {
+        if (this.completedRegions.add(region)) {
+            this.setDirty();
+        }
+    }
+
+    void clear() {
+        this.radius = 0;
+        this.completedRegions.clear();
+        this.setDirty();
+    }
+}
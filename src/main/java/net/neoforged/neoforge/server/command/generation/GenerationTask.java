@@ -5,11 +5,18 @@
 
 package net.neoforged.neoforge.server.command.generation;
 
+import com.google.common.collect.AbstractIterator;
 import it.unimi.dsi.fastutil.longs.LongArrayList;
 import it.unimi.dsi.fastutil.longs.LongList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.Iterator;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import net.minecraft.Util;
 import net.minecraft.nbt.CompoundTag;
@@ -28,24 +35,40 @@ import net.minecraft.world.level.chunk.ChunkAccess;
 import net.minecraft.world.level.chunk.status.ChunkStatus;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.Nullable;
 
 /**
- * Special thanks to Jasmine and Gegy for allowing us to use their pregenerator mod as a model to use in NeoForge!
+ * Generates all the chunks in a square area.
+ *
+ * <p>The area is split into region-aligned work units, which are processed in a spiral around the center of the area.
+ * The number of chunks being generated at the same time adapts to the measured throughput of the chunk system and to the tick time of the server.
+ * Completed regions are persisted with the level, such that an interrupted generation can be resumed with {@link #resume(ServerLevel)}.
+ *
+ * <p>Special thanks to Jasmine and Gegy for allowing us to use their pregenerator mod as a model to use in NeoForge!
  * Original code: <a href="https://github.com/jaskarth/fabric-chunkpregenerator">https://github.com/jaskarth/fabric-chunkpregenerator</a>
  */
 public class GenerationTask {
     private static final Logger LOGGER = LogManager.getLogger();
-    private static final int BATCH_SIZE = 32;
-    private static final int QUEUE_THRESHOLD = 8;
-    private static final int COARSE_CELL_SIZE = 4;
+    /**
+     * Size of a work unit, in chunks. Matches the size of a region file.
+     */
+    private static final int REGION_SIZE = 32;
+    private static final int MIN_IN_FLIGHT = 16;
+    private static final int INITIAL_IN_FLIGHT = 32;
+    private static final int MAX_IN_FLIGHT = 1024;
+    private static final long ADJUST_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(2);
+    private static final long LOG_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final double RATE_SMOOTHING = 0.3;
 
     private final MinecraftServer server;
     private final ServerChunkCache chunkSource;
     private final ServerLevel serverLevel;
+    private final GenerationProgress progress;
+    private final LongSet completedRegions;
 
-    private final Iterator<ChunkPos> iterator;
-    private final int x;
-    private final int z;
+    private final Iterator<Region> regions;
+    @Nullable
+    private Region currentRegion;
     private final int radius;
 
     private final int totalCount;
@@ -56,6 +79,19 @@ public class GenerationTask {
     private final AtomicInteger okCount = new AtomicInteger();
     private final AtomicInteger errorCount = new AtomicInteger();
     private final AtomicInteger skippedCount = new AtomicInteger();
+    private final AtomicBoolean enqueueScheduled = new AtomicBoolean();
+
+    /**
+     * Maximum number of chunks being generated at the same time.
+     */
+    private volatile int maxInFlight = INITIAL_IN_FLIGHT;
+    private volatile boolean exhausted;
+    private volatile double chunksPerSecond;
+    // Only accessed on the server thread
+    private long lastAdjustTime;
+    private long lastLogTime;
+    private int lastAdjustCount;
+    private double lastRate;
 
     private volatile Listener listener;
     private volatile boolean stopped;
@@ -67,15 +103,29 @@ public class GenerationTask {
         this.chunkSource = serverLevel.getChunkSource();
         this.serverLevel = serverLevel;
 
-        this.iterator = new CoarseOnionIterator(radius, COARSE_CELL_SIZE);
-        this.x = x;
-        this.z = z;
+        this.progress = GenerationProgress.get(serverLevel);
+        this.progress.start(x, z, radius);
+        this.completedRegions = new LongOpenHashSet(this.progress.getCompletedRegions());
+
+        this.regions = new RegionIterator(x, z, radius);
         this.radius = radius;
 
         int diameter = radius * 2 + 1;
         this.totalCount = diameter * diameter;
     }
 
+    /**
+     * {@return a task resuming the unfinished generation of the given level, or {@code null} if there is none}
+     */
+    @Nullable
+    public static GenerationTask resume(ServerLevel serverLevel) {
+        GenerationProgress progress = GenerationProgress.get(serverLevel);
+        if (!progress.hasUnfinishedTask()) {
+            return null;
+        }
+        return new GenerationTask(serverLevel, progress.getX(), progress.getZ(), progress.getRadius());
+    }
+
     public int getOkCount() {
         return this.okCount.get();
     }
@@ -92,15 +142,40 @@ public class GenerationTask {
         return this.totalCount;
     }
 
+    public int getRadius() {
+        return this.radius;
+    }
+
+    /**
+     * {@return the recent number of chunks generated per second}
+     */
+    public double getChunksPerSecond() {
+        return this.chunksPerSecond;
+    }
+
+    /**
+     * {@return the estimated number of seconds until the generation completes, or {@code -1} if it is not known yet}
+     */
+    public long getEstimatedSecondsRemaining() {
+        double rate = this.chunksPerSecond;
+        if (rate <= 0) {
+            return -1;
+        }
+
+        int remaining = this.totalCount - this.okCount.get() - this.errorCount.get() - this.skippedCount.get();
+        return (long) Math.ceil(remaining / rate);
+    }
+
     public void run(Listener listener) {
         if (this.listener != null) {
             throw new IllegalStateException("already running!");
         }
 
         this.listener = listener;
+        this.lastAdjustTime = this.lastLogTime = System.nanoTime();
 
         // Off thread chunk scanning to skip already generated chunks
-        CompletableFuture.runAsync(this::tryEnqueueTasks, Util.backgroundExecutor());
+        this.scheduleEnqueue();
     }
 
     public void stop() {
@@ -110,32 +185,42 @@ public class GenerationTask {
         }
     }
 
+    private void scheduleEnqueue() {
+        if (this.enqueueScheduled.compareAndSet(false, true)) {
+            CompletableFuture.runAsync(() -> {
+                this.enqueueScheduled.set(false);
+                this.tryEnqueueTasks();
+            }, Util.backgroundExecutor());
+        }
+    }
+
     private void tryEnqueueTasks() {
         synchronized (this.queueLock) {
             if (this.stopped) {
                 return;
             }
 
-            int enqueueCount = BATCH_SIZE - this.queuedCount.get();
+            int enqueueCount = this.maxInFlight - this.queuedCount.get();
             if (enqueueCount <= 0) {
                 return;
             }
 
-            LongList chunks = this.collectChunks(enqueueCount);
+            LongList chunks = new LongArrayList(enqueueCount);
+            List<Region> chunkRegions = new ArrayList<>(enqueueCount);
+            this.collectChunks(enqueueCount, chunks, chunkRegions);
             if (chunks.isEmpty()) {
-                this.listener.complete(this.errorCount.get());
-                this.stopped = true;
+                this.completeIfDone();
                 return;
             }
 
             this.queuedCount.getAndAdd(chunks.size());
 
             // Keep on server thread as chunk acquiring and releasing (tickets) is not thread safe.
-            this.server.submit(() -> this.enqueueChunks(chunks));
+            this.server.submit(() -> this.enqueueChunks(chunks, chunkRegions));
         }
     }
 
-    private void enqueueChunks(LongList chunks) {
+    private void enqueueChunks(LongList chunks, List<Region> chunkRegions) {
         for (int i = 0; i < chunks.size(); i++) {
             long chunk = chunks.getLong(i);
             this.acquireChunk(chunk);
@@ -148,39 +233,51 @@ public class GenerationTask {
 
         for (int i = 0; i < chunks.size(); i++) {
             long chunkLongPos = chunks.getLong(i);
+            Region region = chunkRegions.get(i);
 
             ChunkHolder holder = chunkMap.getVisibleChunkIfPresent(chunkLongPos);
             if (holder == null) {
                 LOGGER.warn("Added ticket for chunk but it was not added! ({}; {})", ChunkPos.getX(chunkLongPos), ChunkPos.getZ(chunkLongPos));
-                this.acceptChunkResult(chunkLongPos, ChunkHolder.UNLOADED_CHUNK);
+                this.acceptChunkResult(chunkLongPos, region, ChunkHolder.UNLOADED_CHUNK);
                 continue;
             }
 
             holder.scheduleChunkGenerationTask(ChunkStatus.FULL, chunkMap).whenCompleteAsync((result, throwable) -> {
                 if (throwable == null) {
-                    this.acceptChunkResult(chunkLongPos, result);
+                    this.acceptChunkResult(chunkLongPos, region, result);
                 } else {
                     LOGGER.warn("Encountered unexpected error while generating chunk", throwable);
-                    this.acceptChunkResult(chunkLongPos, ChunkHolder.UNLOADED_CHUNK);
+                    this.acceptChunkResult(chunkLongPos, region, ChunkHolder.UNLOADED_CHUNK);
                 }
             }, runnable -> chunkMap.scheduleOnMainThreadMailbox(runnable));
         }
     }
 
-    private void acceptChunkResult(long chunk, ChunkResult<ChunkAccess> result) {
+    private void acceptChunkResult(long chunk, Region region, ChunkResult<ChunkAccess> result) {
         this.server.submit(() -> this.releaseChunk(chunk));
 
         if (result.isSuccess()) {
             this.okCount.getAndIncrement();
         } else {
             this.errorCount.getAndIncrement();
+            region.failed = true;
         }
+        this.finishChunk(region);
 
-        this.listener.update(this.okCount.get(), this.errorCount.get(), this.skippedCount.get(), this.totalCount);
+        Listener listener = this.listener;
+        if (listener != null) {
+            listener.update(this.okCount.get(), this.errorCount.get(), this.skippedCount.get(), this.totalCount);
+        }
 
         int queuedCount = this.queuedCount.decrementAndGet();
-        if (queuedCount <= QUEUE_THRESHOLD) {
-            this.tryEnqueueTasks();
+        this.adjustInFlight();
+        if (queuedCount <= this.maxInFlight / 4) {
+            this.scheduleEnqueue();
+        }
+        if (queuedCount == 0 && this.exhausted) {
+            synchronized (this.queueLock) {
+                this.completeIfDone();
+            }
         }
 
         // Help make sure pregen progress does not get completely lost if game crashes/shuts down before pregen is finished.
@@ -191,24 +288,104 @@ public class GenerationTask {
         }
     }
 
-    private LongList collectChunks(int count) {
-        LongList chunks = new LongArrayList(count);
+    /**
+     * Adapts the number of chunks being generated at the same time.
+     * The window grows while it improves throughput, and shrinks quickly if the server cannot keep up with its tick rate.
+     */
+    private void adjustInFlight() {
+        long now = System.nanoTime();
+        long elapsed = now - this.lastAdjustTime;
+        if (elapsed < ADJUST_INTERVAL_NANOS) {
+            return;
+        }
+
+        int generated = this.okCount.get() + this.errorCount.get();
+        double rate = (generated - this.lastAdjustCount) * (double) TimeUnit.SECONDS.toNanos(1) / elapsed;
+        this.chunksPerSecond = this.chunksPerSecond == 0 ? rate : this.chunksPerSecond + RATE_SMOOTHING * (rate - this.chunksPerSecond);
+
+        int window = this.maxInFlight;
+        if (this.server.getAverageTickTimeNanos() > this.server.tickRateManager().nanosecondsPerTick()) {
+            window = Math.max(MIN_IN_FLIGHT, window / 2);
+        } else if (rate >= this.lastRate) {
+            window = Math.min(MAX_IN_FLIGHT, window + Math.max(MIN_IN_FLIGHT, window / 4));
+        } else {
+            window = Math.max(MIN_IN_FLIGHT, window - window / 8);
+        }
+        this.maxInFlight = window;
+
+        this.lastRate = rate;
+        this.lastAdjustCount = generated;
+        this.lastAdjustTime = now;
+
+        if (now - this.lastLogTime >= LOG_INTERVAL_NANOS) {
+            this.lastLogTime = now;
+            int count = generated + this.skippedCount.get();
+            LOGGER.info("Generated {} out of {} chunks ({} chunks/s, {} in flight, about {}s remaining)",
+                    count, this.totalCount, Math.round(this.chunksPerSecond), window, this.getEstimatedSecondsRemaining());
+        }
+    }
+
+    private void collectChunks(int count, LongList chunks, List<Region> chunkRegions) {
+        while (chunks.size() < count) {
+            Region region = this.currentRegion;
+            if (region == null || !region.hasNext()) {
+                if (!this.regions.hasNext()) {
+                    this.exhausted = true;
+                    return;
+                }
+
+                region = this.currentRegion = this.regions.next();
+                if (this.completedRegions.contains(region.key)) {
+                    this.skippedCount.getAndAdd(region.size);
+                    this.currentRegion = null;
+                    this.notifyUpdate();
+                    continue;
+                }
+            }
 
-        Iterator<ChunkPos> iterator = this.iterator;
-        int i = 0;
-        while (i < count && iterator.hasNext()) {
-            ChunkPos chunkPosInLocalSpace = iterator.next();
-            if (isChunkFullyGenerated(chunkPosInLocalSpace)) {
+            long chunk = region.next();
+            if (this.isChunkFullyGenerated(chunk)) {
                 this.skippedCount.incrementAndGet();
-                this.listener.update(this.okCount.get(), this.errorCount.get(), this.skippedCount.get(), this.totalCount);
+                this.finishChunk(region);
+                this.notifyUpdate();
                 continue;
             }
 
-            chunks.add(ChunkPos.asLong(chunkPosInLocalSpace.x + this.x, chunkPosInLocalSpace.z + this.z));
-            i++;
+            chunks.add(chunk);
+            chunkRegions.add(region);
         }
+    }
 
-        return chunks;
+    private void finishChunk(Region region) {
+        if (region.remaining.decrementAndGet() == 0 && !region.failed) {
+            this.server.execute(() -> {
+                if (!this.stopped) {
+                    this.progress.markRegionComplete(region.key);
+                }
+            });
+        }
+    }
+
+    private void completeIfDone() {
+        if (this.stopped || !this.exhausted || this.queuedCount.get() > 0) {
+            return;
+        }
+
+        this.stopped = true;
+        Listener listener = this.listener;
+        this.server.execute(() -> {
+            this.progress.clear();
+            if (listener != null) {
+                listener.complete(this.errorCount.get());
+            }
+        });
+    }
+
+    private void notifyUpdate() {
+        Listener listener = this.listener;
+        if (listener != null) {
+            listener.update(this.okCount.get(), this.errorCount.get(), this.skippedCount.get(), this.totalCount);
+        }
     }
 
     private void acquireChunk(long chunk) {
@@ -221,10 +398,9 @@ public class GenerationTask {
         this.chunkSource.removeRegionTicket(NEOFORGE_GENERATE_FORCED, pos, 0, pos);
     }
 
-    private boolean isChunkFullyGenerated(ChunkPos chunkPosInLocalSpace) {
-        ChunkPos chunkPosInWorldSpace = new ChunkPos(chunkPosInLocalSpace.x + this.x, chunkPosInLocalSpace.z + this.z);
+    private boolean isChunkFullyGenerated(long chunk) {
         CollectFields collectFields = new CollectFields(new FieldSelector(StringTag.TYPE, "Status"));
-        this.chunkSource.chunkMap.chunkScanner().scanChunk(chunkPosInWorldSpace, collectFields).join();
+        this.chunkSource.chunkMap.chunkScanner().scanChunk(new ChunkPos(chunk), collectFields).join();
 
         if (collectFields.getResult() instanceof CompoundTag compoundTag) {
             return compoundTag.getString("Status").equals("minecraft:full");
@@ -238,4 +414,90 @@ public class GenerationTask {
 
         void complete(int error);
     }
+
+    /**
+     * The chunks of a region that are inside the generated area.
+     */
+    private static final class Region {
+        private final long key;
+        private final int minX;
+        private final int maxX;
+        private final int maxZ;
+        private final int size;
+        private final AtomicInteger remaining;
+        private volatile boolean failed;
+
+        private int nextX;
+        private int nextZ;
+
+        private Region(int regionX, int regionZ, int minX, int minZ, int maxX, int maxZ) {
+            this.key = ChunkPos.asLong(regionX, regionZ);
+            this.minX = minX;
+            this.maxX = maxX;
+            this.maxZ = maxZ;
+            this.size = (maxX - minX + 1) * (maxZ - minZ + 1);
+            this.remaining = new AtomicInteger(this.size);
+            this.nextX = minX;
+            this.nextZ = minZ;
+        }
+
+        private boolean hasNext() {
+            return this.nextZ <= this.maxZ;
+        }
+
+        private long next() {
+            long chunk = ChunkPos.asLong(this.nextX, this.nextZ);
+            if (this.nextX++ >= this.maxX) {
+                this.nextX = this.minX;
+                this.nextZ++;
+            }
+            return chunk;
+        }
+    }
+
+    /**
+     * Iterates over the regions intersecting the generated area, in a spiral starting from the region containing its center.
+     */
+    private static final class RegionIterator extends AbstractIterator<Region> {
+        private final int minX;
+        private final int minZ;
+        private final int maxX;
+        private final int maxZ;
+        private final int centerRegionX;
+        private final int centerRegionZ;
+        private final OnionIterator offsets;
+
+        private RegionIterator(int x, int z, int radius) {
+            this.minX = x - radius;
+            this.minZ = z - radius;
+            this.maxX = x + radius;
+            this.maxZ = z + radius;
+            this.centerRegionX = Math.floorDiv(x, REGION_SIZE);
+            this.centerRegionZ = Math.floorDiv(z, REGION_SIZE);
+
+            int regionRadius = Math.max(
+                    Math.max(this.centerRegionX - Math.floorDiv(this.minX, REGION_SIZE), Math.floorDiv(this.maxX, REGION_SIZE) - this.centerRegionX),
+                    Math.max(this.centerRegionZ - Math.floorDiv(this.minZ, REGION_SIZE), Math.floorDiv(this.maxZ, REGION_SIZE) - this.centerRegionZ));
+            this.offsets = new OnionIterator(regionRadius);
+        }
+
+        @Override
+        protected Region computeNext() {
+            while (this.offsets.hasNext()) {
+                ChunkPos offset = this.offsets.next();
+                int regionX = this.centerRegionX + offset.x;
+                int regionZ = this.centerRegionZ + offset.z;
+
+                int x0 = Math.max(regionX * REGION_SIZE, this.minX);
+                int z0 = Math.max(regionZ * REGION_SIZE, this.minZ);
+                int x1 = Math.min(regionX * REGION_SIZE + REGION_SIZE - 1, this.maxX);
+                int z1 = Math.min(regionZ * REGION_SIZE + REGION_SIZE - 1, this.maxZ);
+                if (x0 <= x1 && z0 <= z1) {
+                    return new Region(regionX, regionZ, x0, z0, x1, z1);
+                }
+            }
+
+            return this.endOfData();
+        }
+    }
 }
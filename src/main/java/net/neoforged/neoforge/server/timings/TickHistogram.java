@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) NeoForged and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.neoforged.neoforge.server.timings;
+
+/**
+ * Log-linear histogram of tick durations, in nanoseconds.
+ *
+ * <p>Each power of two is split into {@value #SUB_BUCKETS} linear buckets,
+ * such that reported percentiles are at most 25% above the recorded values.
+ */
+final class TickHistogram {
+    private static final int SUB_BUCKET_BITS = 2;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    /**
+     * Enough buckets to hold any positive {@code long}.
+     */
+    private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKET_COUNT];
+    private long samples;
+    private long total;
+    private long max;
+
+    void record(long nanos) {
+        nanos = Math.max(0, nanos);
+        counts[bucketOf(nanos)]++;
+        samples++;
+        total += nanos;
+        max = Math.max(max, nanos);
+    }
+
+    long samples() {
+        return samples;
+    }
+
+    long total() {
+        return total;
+    }
+
+    long max() {
+        return max;
+    }
+
+    /**
+     * {@return an upper bound of the given percentile of the recorded durations}
+     *
+     * @param quantile the percentile, between {@code 0} and {@code 1}
+     */
+    long percentile(double quantile) {
+        if (samples == 0)
+            return 0;
+
+        long rank = Math.max(1, (long) Math.ceil(quantile * samples));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; ++i) {
+            seen += counts[i];
+            if (seen >= rank)
+                return Math.min(max, bucketUpperBound(i));
+        }
+        return max;
+    }
+
+    private static int bucketOf(long nanos) {
+        if (nanos < SUB_BUCKETS)
+            return (int) nanos;
+
+        int shift = (Long.SIZE - 1 - Long.numberOfLeadingZeros(nanos)) - SUB_BUCKET_BITS;
+        return ((shift + 1) << SUB_BUCKET_BITS) + (int) ((nanos >> shift) & (SUB_BUCKETS - 1));
+    }
+
+    private static long bucketLowerBound(int bucket) {
+        if (bucket < SUB_BUCKETS)
+            return bucket;
+
+        int shift = (bucket >> SUB_BUCKET_BITS) - 1;
+        return (long) (SUB_BUCKETS | (bucket & (SUB_BUCKETS - 1))) << shift;
+    }
+
+    private static long bucketUpperBound(int bucket) {
+        return bucket + 1 < BUCKET_COUNT ? bucketLowerBound(bucket + 1) - 1 : Long.MAX_VALUE;
+    }
+}
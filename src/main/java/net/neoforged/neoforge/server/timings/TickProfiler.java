@@ -0,0 +1,383 @@
+/*
+ * Copyright (c) NeoForged and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.neoforged.neoforge.server.timings;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import it.unimi.dsi.fastutil.longs.Long2LongMap;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import net.minecraft.core.Registry;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.util.Mth;
+import net.minecraft.util.RandomSource;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.entity.BlockEntityType;
+import net.neoforged.neoforge.common.NeoForgeConfig;
+import net.neoforged.neoforge.event.server.ServerStoppedEvent;
+import net.neoforged.neoforge.event.tick.ServerTickEvent;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Sampling profiler for server-side entity and block entity ticks.
+ *
+ * <p>On average, one in every {@link NeoForgeConfig.Server#tickProfilerSamplingInterval sampling interval} ticks is timed,
+ * with the interval rounded up to a power of two. The number of ticks skipped between two samples is drawn from a geometric distribution,
+ * such that ticks that recur with a fixed period are not systematically sampled or skipped.
+ * Samples are written to a fixed-size ring buffer by the server thread, and aggregated at the end of every server tick
+ * per {@link BlockEntityType}, per {@link EntityType}, per chunk and per mod namespace.
+ * Recording a sample does not allocate, and ticks that are not sampled only cost a counter decrement.
+ *
+ * <p>The results can be queried through {@code /neoforge track}.
+ */
+public final class TickProfiler {
+    private static final long NOT_SAMPLED = Long.MIN_VALUE;
+    /**
+     * Size of the ring buffer, must be a power of two.
+     * Samples recorded while the buffer is full are dropped.
+     */
+    private static final int BUFFER_SIZE = 1 << 14;
+    /**
+     * Maximum number of chunks with recorded tick times. The per-chunk data is cleared once it is exceeded.
+     */
+    private static final int MAX_TRACKED_CHUNKS = 1 << 16;
+
+    private static final Object[] sampleTypes = new Object[BUFFER_SIZE];
+    private static final Object[] sampleDimensions = new Object[BUFFER_SIZE];
+    private static final long[] sampleChunks = new long[BUFFER_SIZE];
+    private static final long[] sampleDurations = new long[BUFFER_SIZE];
+    private static int written = 0;
+    private static int drained = 0;
+
+    /**
+     * Sampling interval, or {@code 0} if the profiler is disabled.
+     */
+    private static int samplingInterval = 0;
+    /**
+     * Natural logarithm of the probability of a tick not being sampled, used to draw the number of skipped ticks.
+     */
+    private static double logSkipProbability = 0;
+    /**
+     * Number of ticks to skip before the next sample.
+     */
+    private static int skippedTicks = 0;
+    private static final RandomSource random = RandomSource.createThreadSafe();
+    @Nullable
+    private static volatile Thread serverThread;
+
+    private static final Reference2ObjectMap<BlockEntityType<?>, TickHistogram> byBlockEntityType = new Reference2ObjectOpenHashMap<>();
+    private static final Reference2ObjectMap<EntityType<?>, TickHistogram> byEntityType = new Reference2ObjectOpenHashMap<>();
+    private static final Map<ResourceKey<Level>, Long2LongOpenHashMap> byChunk = new HashMap<>();
+    private static int trackedChunks = 0;
+    private static long serverTicks = 0;
+    private static long droppedSamples = 0;
+
+    private TickProfiler() {}
+
+    /**
+     * Starts timing a tick in the given level.
+     *
+     * @return the value to pass to the matching {@code end} call
+     */
+    @ApiStatus.Internal
+    public static long start(Level level) {
+        if (samplingInterval == 0 || level.isClientSide())
+            return NOT_SAMPLED;
+        if (skippedTicks > 0) {
+            skippedTicks--;
+            return NOT_SAMPLED;
+        }
+        skippedTicks = nextSkippedTicks();
+        return System.nanoTime();
+    }
+
+    /**
+     * Draws the number of ticks to skip before the next sample, from a geometric distribution with a mean of {@code samplingInterval - 1}.
+     */
+    private static int nextSkippedTicks() {
+        if (samplingInterval == 1)
+            return 0;
+        // 1 - nextDouble() is in (0, 1], so the logarithm is finite
+        return (int) Math.min(Integer.MAX_VALUE, Math.log(1.0 - random.nextDouble()) / logSkipProbability);
+    }
+
+    @ApiStatus.Internal
+    public static void end(BlockEntity blockEntity, long start) {
+        if (start != NOT_SAMPLED && blockEntity.getLevel() != null)
+            record(blockEntity.getType(), blockEntity.getLevel().dimension(), ChunkPos.asLong(blockEntity.getBlockPos()), System.nanoTime() - start);
+    }
+
+    @ApiStatus.Internal
+    public static void end(Entity entity, long start) {
+        if (start != NOT_SAMPLED)
+            record(entity.getType(), entity.level().dimension(), entity.chunkPosition().toLong(), System.nanoTime() - start);
+    }
+
+    private static void record(Object type, ResourceKey<Level> dimension, long chunk, long nanos) {
+        if (Thread.currentThread() != serverThread)
+            return;
+        if (written - drained == BUFFER_SIZE) {
+            droppedSamples++;
+            return;
+        }
+
+        int slot = written & (BUFFER_SIZE - 1);
+        sampleTypes[slot] = type;
+        sampleDimensions[slot] = dimension;
+        sampleChunks[slot] = chunk;
+        sampleDurations[slot] = nanos;
+        written++;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void drain() {
+        for (; drained != written; drained++) {
+            int slot = drained & (BUFFER_SIZE - 1);
+            Object type = sampleTypes[slot];
+            var dimension = (ResourceKey<Level>) sampleDimensions[slot];
+            sampleTypes[slot] = null;
+            sampleDimensions[slot] = null;
+            long nanos = sampleDurations[slot];
+
+            if (type instanceof BlockEntityType<?> blockEntityType) {
+                byBlockEntityType.computeIfAbsent(blockEntityType, t -> new TickHistogram()).record(nanos);
+            } else {
+                byEntityType.computeIfAbsent((EntityType<?>) type, t -> new TickHistogram()).record(nanos);
+            }
+
+            var chunks = byChunk.computeIfAbsent(dimension, d -> new Long2LongOpenHashMap());
+            int previousSize = chunks.size();
+            chunks.addTo(sampleChunks[slot], nanos);
+            trackedChunks += chunks.size() - previousSize;
+        }
+
+        if (trackedChunks > MAX_TRACKED_CHUNKS) {
+            byChunk.clear();
+            trackedChunks = 0;
+        }
+    }
+
+    /**
+     * Clears all the recorded data.
+     */
+    public static void reset() {
+        Arrays.fill(sampleTypes, null);
+        Arrays.fill(sampleDimensions, null);
+        drained = written;
+        byBlockEntityType.clear();
+        byEntityType.clear();
+        byChunk.clear();
+        trackedChunks = 0;
+        serverTicks = 0;
+        droppedSamples = 0;
+    }
+
+    @ApiStatus.Internal
+    public static void onServerTick(ServerTickEvent.Post event) {
+        serverThread = event.getServer().getRunningThread();
+        drain();
+        serverTicks++;
+
+        int interval = NeoForgeConfig.SERVER.tickProfilerSamplingInterval.getAsInt();
+        int rounded = interval <= 0 ? 0 : Mth.smallestEncompassingPowerOfTwo(interval);
+        if (rounded != samplingInterval) {
+            // The recorded times are scaled by the interval, so they cannot be mixed with times recorded at another interval.
+            samplingInterval = rounded;
+            logSkipProbability = Math.log(1.0 - 1.0 / rounded);
+            skippedTicks = rounded == 0 ? 0 : nextSkippedTicks();
+            reset();
+        }
+    }
+
+    @ApiStatus.Internal
+    public static void onServerStopped(ServerStoppedEvent event) {
+        samplingInterval = 0;
+        serverThread = null;
+        reset();
+    }
+
+    /**
+     * {@return whether the profiler is currently recording ticks}
+     */
+    public static boolean isEnabled() {
+        return samplingInterval > 0;
+    }
+
+    /**
+     * {@return one in how many ticks are timed on average}
+     */
+    public static int getSamplingInterval() {
+        return samplingInterval;
+    }
+
+    /**
+     * {@return the number of server ticks since the data was last cleared}
+     */
+    public static long getServerTicks() {
+        return serverTicks;
+    }
+
+    /**
+     * {@return the number of samples that were dropped because the ring buffer was full}
+     */
+    public static long getDroppedSamples() {
+        return droppedSamples;
+    }
+
+    /**
+     * {@return the tick times of each block entity type, most expensive first}
+     */
+    public static List<TypeTimings> getBlockEntityTimings() {
+        drain();
+        return collectTypeTimings(byBlockEntityType, BuiltInRegistries.BLOCK_ENTITY_TYPE);
+    }
+
+    /**
+     * {@return the tick times of each entity type, most expensive first}
+     */
+    public static List<TypeTimings> getEntityTimings() {
+        drain();
+        return collectTypeTimings(byEntityType, BuiltInRegistries.ENTITY_TYPE);
+    }
+
+    /**
+     * {@return the total tick times of the entities and block entities in each chunk, most expensive first}
+     */
+    public static List<ChunkTimings> getChunkTimings() {
+        drain();
+        List<ChunkTimings> timings = new ArrayList<>(trackedChunks);
+        for (var dimension : byChunk.entrySet()) {
+            for (Long2LongMap.Entry entry : dimension.getValue().long2LongEntrySet()) {
+                timings.add(new ChunkTimings(dimension.getKey(), new ChunkPos(entry.getLongKey()), scale(entry.getLongValue())));
+            }
+        }
+        timings.sort(Comparator.comparingLong(ChunkTimings::totalNanos).reversed());
+        return timings;
+    }
+
+    /**
+     * {@return the total tick times of the entities and block entities of each mod, most expensive first}
+     */
+    public static List<NamespaceTimings> getNamespaceTimings() {
+        Object2LongOpenHashMap<String> totals = new Object2LongOpenHashMap<>();
+        for (var timings : getBlockEntityTimings())
+            totals.addTo(timings.type().getNamespace(), timings.totalNanos());
+        for (var timings : getEntityTimings())
+            totals.addTo(timings.type().getNamespace(), timings.totalNanos());
+
+        List<NamespaceTimings> timings = new ArrayList<>(totals.size());
+        for (Object2LongMap.Entry<String> entry : totals.object2LongEntrySet())
+            timings.add(new NamespaceTimings(entry.getKey(), entry.getLongValue()));
+        timings.sort(Comparator.comparingLong(NamespaceTimings::totalNanos).reversed());
+        return timings;
+    }
+
+    /**
+     * {@return all the recorded data, as a JSON object}
+     */
+    public static JsonObject toJson() {
+        JsonObject json = new JsonObject();
+        json.addProperty("sampling_interval", getSamplingInterval());
+        json.addProperty("server_ticks", serverTicks);
+        json.addProperty("dropped_samples", droppedSamples);
+        json.add("block_entities", typeTimingsToJson(getBlockEntityTimings()));
+        json.add("entities", typeTimingsToJson(getEntityTimings()));
+
+        JsonArray chunks = new JsonArray();
+        for (var timings : getChunkTimings()) {
+            JsonObject entry = new JsonObject();
+            entry.addProperty("dimension", timings.dimension().location().toString());
+            entry.addProperty("x", timings.pos().x);
+            entry.addProperty("z", timings.pos().z);
+            entry.addProperty("total_nanos", timings.totalNanos());
+            chunks.add(entry);
+        }
+        json.add("chunks", chunks);
+
+        JsonArray namespaces = new JsonArray();
+        for (var timings : getNamespaceTimings()) {
+            JsonObject entry = new JsonObject();
+            entry.addProperty("namespace", timings.namespace());
+            entry.addProperty("total_nanos", timings.totalNanos());
+            namespaces.add(entry);
+        }
+        json.add("mods", namespaces);
+        return json;
+    }
+
+    private static <T> List<TypeTimings> collectTypeTimings(Reference2ObjectMap<T, TickHistogram> histograms, Registry<T> registry) {
+        List<TypeTimings> timings = new ArrayList<>(histograms.size());
+        for (var entry : histograms.reference2ObjectEntrySet()) {
+            ResourceLocation key = registry.getKey(entry.getKey());
+            if (key == null)
+                continue;
+
+            TickHistogram histogram = entry.getValue();
+            timings.add(new TypeTimings(key, histogram.samples(), scale(histogram.total()), histogram.percentile(0.5), histogram.percentile(0.99), histogram.max()));
+        }
+        timings.sort(Comparator.comparingLong(TypeTimings::totalNanos).reversed());
+        return timings;
+    }
+
+    private static JsonArray typeTimingsToJson(List<TypeTimings> timings) {
+        JsonArray array = new JsonArray();
+        for (var typeTimings : timings) {
+            JsonObject entry = new JsonObject();
+            entry.addProperty("type", typeTimings.type().toString());
+            entry.addProperty("samples", typeTimings.samples());
+            entry.addProperty("total_nanos", typeTimings.totalNanos());
+            entry.addProperty("p50_nanos", typeTimings.p50Nanos());
+            entry.addProperty("p99_nanos", typeTimings.p99Nanos());
+            entry.addProperty("max_nanos", typeTimings.maxNanos());
+            array.add(entry);
+        }
+        return array;
+    }
+
+    /**
+     * Scales a sum of sampled durations to an estimate of the total duration of all the ticks.
+     */
+    private static long scale(long sampledNanos) {
+        return sampledNanos * getSamplingInterval();
+    }
+
+    /**
+     * Tick times of an entity or block entity type.
+     *
+     * @param samples    the number of timed ticks
+     * @param totalNanos the estimated total time spent ticking this type, extrapolated from the samples
+     * @param p50Nanos   the median duration of a single tick
+     * @param p99Nanos   the 99th percentile of the duration of a single tick
+     * @param maxNanos   the longest recorded tick
+     */
+    public record TypeTimings(ResourceLocation type, long samples, long totalNanos, long p50Nanos, long p99Nanos, long maxNanos) {}
+
+    /**
+     * Estimated total time spent ticking the entities and block entities of a chunk.
+     */
+    public record ChunkTimings(ResourceKey<Level> dimension, ChunkPos pos, long totalNanos) {}
+
+    /**
+     * Estimated total time spent ticking the entities and block entities of a mod.
+     */
+    public record NamespaceTimings(String namespace, long totalNanos) {}
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) NeoForged and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.neoforged.neoforge.unittest;
+
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.neoforged.neoforge.items.IndexedItemStackHandler;
+import net.neoforged.neoforge.items.ItemHandlerHelper;
+import net.neoforged.neoforge.items.ItemStackHandler;
+import net.neoforged.testframework.junit.EphemeralTestServerProvider;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@ExtendWith(EphemeralTestServerProvider.class)
+public class IndexedItemStackHandlerTest {
+    @Test
+    void testIndexTracksInsertAndExtract(MinecraftServer server) {
+        IndexedItemStackHandler handler = new IndexedItemStackHandler(4);
+        Assertions.assertThat(handler.isEmpty()).isTrue();
+        Assertions.assertThat(handler.nextEmptySlot(0)).isEqualTo(0);
+
+        handler.insertItem(1, new ItemStack(Items.STONE, 10), false);
+        Assertions.assertThat(handler.isEmpty()).isFalse();
+        Assertions.assertThat(handler.nextOccupiedSlot(0)).isEqualTo(1);
+        Assertions.assertThat(handler.nextEmptySlot(1)).isEqualTo(2);
+        Assertions.assertThat(handler.nextStackableSlot(new ItemStack(Items.STONE), 0)).isEqualTo(1);
+        Assertions.assertThat(handler.nextStackableSlot(new ItemStack(Items.DIRT), 0)).isEqualTo(-1);
+
+        handler.insertItem(1, new ItemStack(Items.STONE, 54), false);
+        Assertions.assertThat(handler.nextStackableSlot(new ItemStack(Items.STONE), 0)).isEqualTo(-1);
+        Assertions.assertThat(handler.nextNonFullSlot(0)).isEqualTo(0);
+
+        handler.extractItem(1, 64, false);
+        Assertions.assertThat(handler.isEmpty()).isTrue();
+        Assertions.assertThat(handler.nextOccupiedSlot(0)).isEqualTo(-1);
+    }
+
+    @Test
+    void testInsertStackedMatchesPlainHandler(MinecraftServer server) {
+        IndexedItemStackHandler indexed = new IndexedItemStackHandler(5);
+        ItemStackHandler plain = new ItemStackHandler(5);
+        for (ItemStackHandler handler : new ItemStackHandler[] { indexed, plain }) {
+            handler.setStackInSlot(0, new ItemStack(Items.DIRT, 5));
+            handler.setStackInSlot(2, new ItemStack(Items.STONE, 60));
+            handler.setStackInSlot(4, new ItemStack(Items.STONE, 1));
+        }
+
+        ItemStack toInsert = new ItemStack(Items.STONE, 130);
+        Assertions.assertThat(ItemHandlerHelper.insertItemStacked(indexed, toInsert, true).getCount())
+                .isEqualTo(ItemHandlerHelper.insertItemStacked(plain, toInsert, true).getCount());
+        ItemStack indexedRemainder = ItemHandlerHelper.insertItemStacked(indexed, toInsert, false);
+        ItemStack plainRemainder = ItemHandlerHelper.insertItemStacked(plain, toInsert, false);
+        Assertions.assertThat(indexedRemainder.getCount()).isEqualTo(plainRemainder.getCount());
+        for (int slot = 0; slot < 5; slot++) {
+            Assertions.assertThat(ItemStack.matches(indexed.getStackInSlot(slot), plain.getStackInSlot(slot))).as("slot %d", slot).isTrue();
+        }
+        Assertions.assertThat(ItemHandlerHelper.calcRedstoneFromInventory(indexed)).isEqualTo(ItemHandlerHelper.calcRedstoneFromInventory(plain));
+        Assertions.assertThat(indexed.isFull()).isEqualTo(plain.isFull());
+    }
+}
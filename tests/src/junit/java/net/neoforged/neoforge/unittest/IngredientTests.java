@@ -16,6 +16,7 @@ import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.Items;
 import net.minecraft.world.item.component.Unbreakable;
 import net.minecraft.world.item.crafting.Ingredient;
+import net.neoforged.neoforge.common.crafting.CompiledIngredient;
 import net.neoforged.neoforge.common.crafting.CompoundIngredient;
 import net.neoforged.neoforge.common.crafting.DataComponentIngredient;
 import net.neoforged.neoforge.common.crafting.DifferenceIngredient;
@@ -63,6 +64,24 @@ public class IngredientTests {
                 .containsExactlyInAnyOrder(Items.BIRCH_LOG, Items.SPRUCE_LOG);
     }
 
+    @Test
+    void testCompiledSimpleIngredient(MinecraftServer server) {
+        final var ingredient = DifferenceIngredient.of(Ingredient.of(server.registryAccess().lookupOrThrow(Registries.ITEM).getOrThrow(ItemTags.LOGS)), Ingredient.of(Items.ACACIA_LOG));
+        Assertions.assertThat(ingredient.isSimple()).isTrue();
+
+        for (int i = 0; i < 2; i++) {
+            Assertions.assertThat(ingredient.test(new ItemStack(Items.BIRCH_LOG))).withFailMessage("Ingredient doesn't match an item from the base").isTrue();
+            Assertions.assertThat(ingredient.test(new ItemStack(Items.ACACIA_LOG))).withFailMessage("Ingredient matches a subtracted item").isFalse();
+            Assertions.assertThat(ingredient.test(new ItemStack(Items.DISPENSER))).withFailMessage("Ingredient matches an unrelated item").isFalse();
+            Assertions.assertThat(ingredient.test(ItemStack.EMPTY)).withFailMessage("Ingredient matches an empty stack").isFalse();
+            Assertions.assertThat(ingredient.acceptsItem(Items.BIRCH_LOG.builtInRegistryHolder())).isTrue();
+            Assertions.assertThat(ingredient.acceptsItem(Items.ACACIA_LOG.builtInRegistryHolder())).isFalse();
+
+            // The ingredient must be compiled again after tags are reloaded
+            CompiledIngredient.invalidateAll();
+        }
+    }
+
     @ParameterizedTest
     @CsvSource({ "true", "false" })
     void testComponentIngredient(boolean strict, MinecraftServer server) {
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) NeoForged and contributors
+ * SPDX-License-Identifier: LGPL-2.1-only
+ */
+
+package net.neoforged.neoforge.unittest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import net.neoforged.neoforge.common.util.RecipeMatcher;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class RecipeMatcherTest {
+    private static List<Integer> inputs(int count) {
+        return IntStream.range(0, count).boxed().toList();
+    }
+
+    private static void assertValidMatch(List<Integer> inputs, List<Predicate<Integer>> tests, int[] matches) {
+        Assertions.assertThat(matches).hasSize(inputs.size());
+        Assertions.assertThat(IntStream.of(matches).distinct().count()).withFailMessage("A test was matched to several inputs").isEqualTo(inputs.size());
+        for (int i = 0; i < matches.length; i++) {
+            Assertions.assertThat(tests.get(matches[i]).test(inputs.get(i))).withFailMessage("Input %s was matched to a test it doesn't pass", i).isTrue();
+        }
+    }
+
+    @Test
+    void testDisjointTests() {
+        var inputs = inputs(9);
+        List<Predicate<Integer>> tests = new ArrayList<>();
+        for (int i = 8; i >= 0; i--) {
+            int expected = i;
+            tests.add(input -> input == expected);
+        }
+
+        int[] matches = RecipeMatcher.findMatches(inputs, tests);
+        Assertions.assertThat(matches).containsExactly(8, 7, 6, 5, 4, 3, 2, 1, 0);
+    }
+
+    @Test
+    void testOverlappingTests() {
+        // Greedily assigning the first matching test to each input fails here
+        var inputs = inputs(3);
+        List<Predicate<Integer>> tests = List.of(
+                input -> input <= 2,
+                input -> input == 0,
+                input -> input == 1);
+
+        int[] matches = RecipeMatcher.findMatches(inputs, tests);
+        Assertions.assertThat(matches).containsExactly(1, 2, 0);
+    }
+
+    @Test
+    void testUnmatchedInputOrTest() {
+        var inputs = inputs(3);
+        Assertions.assertThat(RecipeMatcher.findMatches(inputs, List.<Predicate<Integer>>of(input -> true, input -> true, input -> false))).isNull();
+        Assertions.assertThat(RecipeMatcher.findMatches(inputs, List.<Predicate<Integer>>of(input -> input < 2, input -> input < 2, input -> input < 2))).isNull();
+        Assertions.assertThat(RecipeMatcher.findMatches(inputs, List.<Predicate<Integer>>of(input -> true, input -> true))).isNull();
+    }
+
+    /**
+     * Adversarial case for backtracking: every input and test has a match, but the last two tests both only accept the first input,
+     * which is only noticed after trying every assignment of the other tests.
+     */
+    @Test
+    void testAdversarialInputs() {
+        int size = 64;
+        var inputs = inputs(size);
+        List<Predicate<Integer>> tests = new ArrayList<>();
+        for (int i = 0; i < size - 2; i++) {
+            tests.add(input -> true);
+        }
+        tests.add(input -> input == 0);
+        tests.add(input -> input == 0);
+
+        Assertions.assertThat(org.junit.jupiter.api.Assertions.assertTimeoutPreemptively(Duration.ofSeconds(1), () -> RecipeMatcher.findMatches(inputs, tests))).isNull();
+
+        tests.set(size - 1, input -> input == size - 1);
+        int[] matches = org.junit.jupiter.api.Assertions.assertTimeoutPreemptively(Duration.ofSeconds(1), () -> RecipeMatcher.findMatches(inputs, tests));
+        assertValidMatch(inputs, tests, matches);
+    }
+}
@@ -48,15 +48,19 @@ public class VanillaHandlersTests {
             helper.fail("Should not have been invalidated yet", composterPos);
 
         // The cache should only be invalidated once until it is queried again
+        // Invalidations are delivered at the end of the tick, so we flush them manually
         helper.setBlock(composterPos, Blocks.COMPOSTER.defaultBlockState());
+        helper.getLevel().flushCapabilityInvalidations();
         if (invalidationCount.getValue() != 1)
             helper.fail("Should have invalidated once");
 
         helper.setBlock(composterPos, Blocks.AIR.defaultBlockState());
+        helper.getLevel().flushCapabilityInvalidations();
         if (invalidationCount.getValue() != 1) // capability not re-queried, so no invalidation
             helper.fail("Should have invalidated once");
 
         helper.setBlock(composterPos, Blocks.COMPOSTER.defaultBlockState());
+        helper.getLevel().flushCapabilityInvalidations();
         if (invalidationCount.getValue() != 1) // capability not re-queried, so no invalidation
             helper.fail("Should have invalidated once");
 
@@ -68,6 +72,7 @@ public class VanillaHandlersTests {
 
         // Should be notified of disappearance if the composter is removed
         helper.setBlock(composterPos, Blocks.AIR.defaultBlockState());
+        helper.getLevel().flushCapabilityInvalidations();
 
         if (invalidationCount.getValue() != 2)
             helper.fail("Should have invalidated a second time");
@@ -97,6 +102,7 @@ public class VanillaHandlersTests {
 
         // Should invalidate once when setting the block
         helper.setBlock(cauldronPos, Blocks.CAULDRON);
+        helper.getLevel().flushCapabilityInvalidations();
         var wrapper = capCache.getCapability();
         helper.assertTrue(wrapper != null, "Expected fluid handler");
         helper.assertTrue(invalidationCount.intValue() == 1, "Expected 1 invalidation only");
@@ -141,6 +147,7 @@ public class VanillaHandlersTests {
         helper.assertTrue(invalidationCount.intValue() == 1, "Expected 1 invalidation only after the whole test");
         // But if we change the block to a non-cauldron, it should invalidate
         helper.destroyBlock(cauldronPos);
+        helper.getLevel().flushCapabilityInvalidations();
         helper.assertTrue(invalidationCount.intValue() == 2, "Expected a second invalidation after cauldron destruction");
 
         helper.succeed();
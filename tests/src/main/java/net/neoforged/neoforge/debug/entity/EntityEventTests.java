@@ -6,7 +6,10 @@
 package net.neoforged.neoforge.debug.entity;
 
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.registries.Registries;
 import net.minecraft.gametest.framework.GameTest;
@@ -25,12 +28,15 @@ import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Blocks;
 import net.minecraft.world.level.portal.TeleportTransition;
 import net.minecraft.world.phys.Vec3;
+import net.neoforged.bus.api.EventPriority;
 import net.neoforged.neoforge.event.entity.EntityAttributeModificationEvent;
 import net.neoforged.neoforge.event.entity.EntityInvulnerabilityCheckEvent;
 import net.neoforged.neoforge.event.entity.EntityTeleportEvent;
 import net.neoforged.neoforge.event.entity.EntityTravelToDimensionEvent;
 import net.neoforged.neoforge.event.entity.living.FinalizeSpawnEvent;
 import net.neoforged.neoforge.event.level.ExplosionKnockbackEvent;
+import net.neoforged.neoforge.event.tick.EntityTickEvent;
+import net.neoforged.neoforge.event.tick.EntityTickListeners;
 import net.neoforged.testframework.DynamicTest;
 import net.neoforged.testframework.Test;
 import net.neoforged.testframework.annotation.ForEachTest;
@@ -204,4 +210,46 @@ public class EntityEventTests {
                 .thenExecute(helper::killAllEntities)
                 .thenSucceed());
     }
+
+    @GameTest
+    @EmptyTemplate(floor = true)
+    @TestHolder(description = "Tests if entity tick listeners filtered by entity type only receive the ticks of entities of that type, at their priority")
+    static void filteredEntityTickListeners(final DynamicTest test) {
+        final String tag = "filtered_entity_tick_test";
+        final AtomicInteger pigTicks = new AtomicInteger();
+        final AtomicBoolean otherTypeTicked = new AtomicBoolean();
+        final AtomicBoolean outOfOrder = new AtomicBoolean();
+        final AtomicInteger lastHighPriorityTick = new AtomicInteger(-1);
+        final Consumer<EntityTickEvent.Pre> filteredListener = event -> {
+            if (event.getEntity().getTags().contains(tag)) {
+                if (event.getEntity().getType() != EntityType.PIG) {
+                    otherTypeTicked.set(true);
+                }
+                if (lastHighPriorityTick.get() != event.getEntity().tickCount) {
+                    outOfOrder.set(true);
+                }
+                pigTicks.incrementAndGet();
+            }
+        };
+        // Registered on the bus with a higher priority than the filtered listener, so it must always see the tick first
+        final Consumer<EntityTickEvent.Pre> highPriorityListener = event -> {
+            if (event.getEntity().getTags().contains(tag) && event.getEntity().getType() == EntityType.PIG) {
+                lastHighPriorityTick.set(event.getEntity().tickCount);
+            }
+        };
+        test.whenEnabled(listeners -> {
+            listeners.forge().addListener(EventPriority.HIGH, false, EntityTickEvent.Pre.class, highPriorityListener);
+            EntityTickListeners.addPreListener(EntityType.PIG, EventPriority.LOW, filteredListener);
+        });
+        test.whenDisabled(() -> EntityTickListeners.removePreListener(EntityType.PIG, filteredListener));
+
+        test.onGameTest(helper -> helper.startSequence()
+                .thenExecute(() -> helper.spawnWithNoFreeWill(EntityType.PIG, 1, 2, 1).addTag(tag))
+                .thenExecute(() -> helper.spawnWithNoFreeWill(EntityType.COW, 1, 2, 1).addTag(tag))
+                .thenWaitUntil(() -> helper.assertTrue(pigTicks.get() >= 5, "Filtered listener was not called"))
+                .thenExecute(() -> helper.assertFalse(otherTypeTicked.get(), "Filtered listener received the tick of another entity type"))
+                .thenExecute(() -> helper.assertFalse(outOfOrder.get(), "Filtered listener was called out of priority order"))
+                .thenExecute(helper::killAllEntities)
+                .thenSucceed());
+    }
 }